@@ -0,0 +1,52 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files, e.g. results/abc123.json results/def456.json.
+
+Prints each benchmark's baseline and candidate score with the relative change.
+A change is flagged when the two scores' error intervals do not overlap.
+"""
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        params = ",".join(f"{k}={v}" for k, v in sorted(run.get("params", {}).items()))
+        name = run["benchmark"].rsplit(".", 2)
+        key = ".".join(name[-2:]) + (f"[{params}]" if params else "")
+        metric = run["primaryMetric"]
+        error = metric.get("scoreError")
+        if not isinstance(error, (int, float)):
+            error = 0.0
+        results[key] = (metric["score"], error, metric["scoreUnit"])
+    return results
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(f"usage: {sys.argv[0]} <baseline.json> <candidate.json>")
+
+    baseline, candidate = load(sys.argv[1]), load(sys.argv[2])
+    width = max((len(k) for k in baseline.keys() | candidate.keys()), default=10)
+
+    print(f"{'Benchmark':<{width}}  {'Baseline':>14}  {'Candidate':>14}  {'Change':>8}  Unit")
+    for key in sorted(baseline.keys() | candidate.keys()):
+        if key not in baseline or key not in candidate:
+            only = "baseline" if key in baseline else "candidate"
+            print(f"{key:<{width}}  (only in {only})")
+            continue
+
+        base, base_err, unit = baseline[key]
+        cand, cand_err, _ = candidate[key]
+        change = (cand - base) / base * 100 if base else float("nan")
+        significant = abs(cand - base) > base_err + cand_err
+        marker = " *" if significant else ""
+        print(f"{key:<{width}}  {base:>14.3f}  {cand:>14.3f}  {change:>+7.1f}%  {unit}{marker}")
+
+    print("\n* error intervals do not overlap")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Build the benchmark jar and run the JMH suite.
+# Results are written to results/<commit>.json so runs on different commits
+# can be compared with compare.py. Extra arguments are passed to JMH, e.g.
+#   ./run.sh Jwt            only benchmarks matching "Jwt"
+#   ./run.sh -f 1 -wi 2     fewer forks and warmup iterations for a quick look
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+mvn -B -q package -DskipTests
+
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- ../src .; then
+    commit="${commit}-dirty"
+fi
+
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/${commit}.json" "$@"
+echo "Results saved to results/${commit}.json"
@@ -0,0 +1,60 @@
+package com.planora.benchmark;
+
+import com.planora.dto.BudgetBreakdownDTO;
+import com.planora.entity.BudgetAllocation;
+import com.planora.service.BudgetAllocationService;
+import com.planora.service.BudgetCategory;
+import com.planora.service.PlanType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BudgetAllocationBenchmark {
+
+    @Param({"BUDGET", "BALANCED", "COMFORT"})
+    public String planType;
+
+    private BudgetAllocationService service;
+    private BudgetAllocation allocation;
+    private double[] bulkBudgets;
+    private double[] bulkOut;
+
+    @Setup
+    public void setUp() {
+        service = new BudgetAllocationService(Fixtures.inMemoryBudgetAllocations());
+        allocation = service.calculateAndSaveBudgetAllocation(1L, 50_000.0, planType);
+
+        bulkBudgets = new double[1_000];
+        for (int i = 0; i < bulkBudgets.length; i++) {
+            bulkBudgets[i] = 10_000.0 + i * 100;
+        }
+        bulkOut = new double[bulkBudgets.length * BudgetCategory.COUNT];
+    }
+
+    @Benchmark
+    public BudgetAllocation calculateAndSaveBudgetAllocation() {
+        return service.calculateAndSaveBudgetAllocation(1L, 50_000.0, planType);
+    }
+
+    @Benchmark
+    public BudgetBreakdownDTO convertToDTO() {
+        return service.convertToDTO(allocation);
+    }
+
+    @Benchmark
+    public BudgetBreakdownDTO convertToDTOWithPlanType() {
+        return service.convertToDTO(allocation, planType);
+    }
+
+    @Benchmark
+    public double[] allocateAll1000() {
+        BudgetAllocationService.allocateAll(PlanType.valueOf(planType), bulkBudgets, bulkOut);
+        return bulkOut;
+    }
+}
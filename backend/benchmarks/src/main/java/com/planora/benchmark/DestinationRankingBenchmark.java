@@ -0,0 +1,45 @@
+package com.planora.benchmark;
+
+import com.planora.entity.Destination;
+import com.planora.service.DestinationIndex;
+import com.planora.service.PlanType;
+import com.planora.service.RankedDestination;
+import com.planora.service.TravelType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-K destination ranking against an in-memory index, with a per-day
+ * limit that leaves roughly half of the destinations affordable
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DestinationRankingBenchmark {
+
+    @Param({"100", "10000"})
+    public int destinations;
+
+    private DestinationIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new DestinationIndex(Fixtures.inMemoryDestinations(Fixtures.destinations(destinations)));
+        index.refresh();
+    }
+
+    @Benchmark
+    public List<RankedDestination> rankTop4() {
+        return index.rank(500.0, PlanType.BALANCED, TravelType.COUPLE, 4);
+    }
+
+    @Benchmark
+    public Destination findBest() {
+        return index.findBest(500.0, PlanType.BALANCED, TravelType.COUPLE);
+    }
+}
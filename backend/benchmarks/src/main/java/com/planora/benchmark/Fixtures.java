@@ -0,0 +1,245 @@
+package com.planora.benchmark;
+
+import com.planora.dto.ActivityDTO;
+import com.planora.dto.BudgetBreakdownDTO;
+import com.planora.dto.HotelDTO;
+import com.planora.dto.TripResponseDTO;
+import com.planora.entity.Activity;
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Destination;
+import com.planora.entity.Hotel;
+import com.planora.entity.Trip;
+import com.planora.entity.TripActivity;
+import com.planora.entity.TripHotel;
+import com.planora.repository.ActivityRepository;
+import com.planora.repository.BudgetAllocationRepository;
+import com.planora.repository.DestinationRepository;
+import com.planora.repository.HotelRepository;
+import com.planora.service.RecommendationCatalog;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic sample data and in-memory stand-ins shared by the benchmarks
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * BudgetAllocationRepository backed by a map keyed by trip ID. Only the
+     * methods the services call are supported.
+     */
+    public static BudgetAllocationRepository inMemoryBudgetAllocations() {
+        Map<Long, BudgetAllocation> byTripId = new HashMap<>();
+        AtomicLong ids = new AtomicLong();
+
+        return (BudgetAllocationRepository) Proxy.newProxyInstance(
+                BudgetAllocationRepository.class.getClassLoader(),
+                new Class<?>[] {BudgetAllocationRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        BudgetAllocation allocation = (BudgetAllocation) args[0];
+                        if (allocation.getId() == null) {
+                            allocation.setId(ids.incrementAndGet());
+                        }
+                        byTripId.put(allocation.getTripId(), allocation);
+                        yield allocation;
+                    }
+                    case "findByTripId" -> Optional.ofNullable(byTripId.get((Long) args[0]));
+                    case "findByTripIdIn" -> {
+                        List<BudgetAllocation> found = new ArrayList<>();
+                        for (Object tripId : (Collection<?>) args[0]) {
+                            BudgetAllocation allocation = byTripId.get((Long) tripId);
+                            if (allocation != null) {
+                                found.add(allocation);
+                            }
+                        }
+                        yield found;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryBudgetAllocationRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * DestinationRepository whose findAll returns the given destinations
+     */
+    public static DestinationRepository inMemoryDestinations(List<Destination> destinations) {
+        return findAllOnly(DestinationRepository.class, destinations);
+    }
+
+    /**
+     * Recommendation catalog loaded with the given hotels and activities
+     */
+    public static RecommendationCatalog recommendationCatalog(List<Hotel> hotels, List<Activity> activities) {
+        RecommendationCatalog catalog = new RecommendationCatalog(
+                findAllOnly(HotelRepository.class, hotels), findAllOnly(ActivityRepository.class, activities));
+        catalog.refresh();
+        return catalog;
+    }
+
+    /**
+     * Repository proxy whose findAll returns a copy of rows; nothing else is supported
+     */
+    private static <R> R findAllOnly(Class<R> repository, List<?> rows) {
+        return repository.cast(Proxy.newProxyInstance(
+                repository.getClassLoader(),
+                new Class<?>[] {repository},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> new ArrayList<>(rows);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemory" + repository.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    public static Trip trip(long id) {
+        Trip trip = new Trip();
+        trip.setId(id);
+        trip.setUserId(1L);
+        trip.setStartCity("Mumbai");
+        trip.setDestinationId(1L);
+        trip.setStartDate(LocalDate.of(2025, 1, 15));
+        trip.setEndDate(LocalDate.of(2025, 1, 20));
+        trip.setNumberOfDays(6);
+        trip.setNumberOfTravelers(2);
+        trip.setTravelType("COUPLE");
+        trip.setTotalBudget(50_000.0);
+        trip.setPlanType("BALANCED");
+        trip.setStatus("DRAFT");
+        trip.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        trip.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return trip;
+    }
+
+    public static Destination destination() {
+        Destination destination = new Destination();
+        destination.setId(1L);
+        destination.setName("Goa");
+        destination.setCountry("India");
+        destination.setDescription("Beautiful beaches and Portuguese heritage");
+        destination.setAverageCost(50.0);
+        destination.setPopularityScore(95);
+        return destination;
+    }
+
+    /**
+     * count destinations with costs spread over 10 to 1,000 per day and
+     * popularity cycling through 0 to 100
+     */
+    public static List<Destination> destinations(int count) {
+        List<Destination> destinations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Destination destination = new Destination();
+            destination.setId((long) i + 1);
+            destination.setName("Destination " + i);
+            destination.setCountry("Country " + i % 50);
+            destination.setDescription("Beaches, markets and old town walks");
+            destination.setAverageCost(10.0 + (i * 7919L % 99_000) / 100.0);
+            destination.setPopularityScore(i * 37 % 101);
+            destinations.add(destination);
+        }
+        return destinations;
+    }
+
+    public static BudgetAllocation budgetAllocation(long tripId) {
+        BudgetAllocation allocation = new BudgetAllocation();
+        allocation.setId(tripId);
+        allocation.setTripId(tripId);
+        allocation.setTravelBudget(17_500.0);
+        allocation.setAccommodationBudget(17_500.0);
+        allocation.setFoodBudget(7_500.0);
+        allocation.setActivitiesBudget(7_500.0);
+        allocation.setTotalAllocated(50_000.0);
+        return allocation;
+    }
+
+    public static List<Hotel> hotels(int count) {
+        List<Hotel> hotels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setId((long) i);
+            hotel.setName("Hotel " + i);
+            hotel.setPriceShare(0.7 + (i % 3) / 10.0);
+            hotel.setRating(4.0 + (i % 10) / 10.0);
+            hotel.setAmenities("[\"WiFi\", \"Breakfast\", \"Pool\"]");
+            hotels.add(hotel);
+        }
+        return hotels;
+    }
+
+    public static List<Activity> activities(int count) {
+        List<Activity> activities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Activity activity = new Activity();
+            activity.setId((long) i);
+            activity.setName("Activity " + i);
+            activity.setDescription("Explore the city's main attractions");
+            activity.setCostShare(0.25 + (i % 3) / 20.0);
+            activity.setDurationHours(1 + i % 6);
+            activity.setCategory(i % 2 == 0 ? "SIGHTSEEING" : "FOOD");
+            activities.add(activity);
+        }
+        return activities;
+    }
+
+    /**
+     * Recommendation rows for the trip, one per catalog hotel id below count
+     */
+    public static List<TripHotel> tripHotels(long tripId, int count) {
+        List<TripHotel> hotels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hotels.add(new TripHotel((long) i, tripId, (long) i, 1_500.0 + i));
+        }
+        return hotels;
+    }
+
+    /**
+     * Recommendation rows for the trip, one per catalog activity id below
+     * count, spread over the trip's six days
+     */
+    public static List<TripActivity> tripActivities(long tripId, int count) {
+        List<TripActivity> activities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            activities.add(new TripActivity((long) i, tripId, (long) i, 500.0 + i, 1 + i % 6));
+        }
+        return activities;
+    }
+
+    /**
+     * Fully populated response with the given number of hotels and activities
+     */
+    public static TripResponseDTO tripResponse(int recommendations) {
+        Trip trip = trip(1L);
+        List<HotelDTO> hotels = new ArrayList<>(recommendations);
+        for (Hotel h : hotels(recommendations)) {
+            hotels.add(new HotelDTO(h.getId(), h.getName(), trip.getStartCity(), 1_500.0 + h.getId(),
+                    h.getRating(), h.getAmenities(), h.getImageUrl()));
+        }
+        List<ActivityDTO> activities = new ArrayList<>(recommendations);
+        for (Activity a : activities(recommendations)) {
+            activities.add(new ActivityDTO(a.getId(), a.getName(), a.getDescription(), 500.0 + a.getId(),
+                    a.getDurationHours(), a.getCategory(), a.getImageUrl(), 1 + (int) (a.getId() % 6)));
+        }
+
+        return new TripResponseDTO(trip.getId(), trip.getStartCity(), "Goa", trip.getStartDate(),
+                trip.getEndDate(), trip.getNumberOfDays(), trip.getNumberOfTravelers(), trip.getTravelType(),
+                trip.getTotalBudget(), trip.getPlanType(), trip.getStatus(), List.of(),
+                new BudgetBreakdownDTO(17_500.0, 17_500.0, 7_500.0, 7_500.0, 50_000.0, 35.0, 35.0, 15.0, 15.0),
+                hotels, activities);
+    }
+}
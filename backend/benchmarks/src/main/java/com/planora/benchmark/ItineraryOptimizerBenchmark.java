@@ -0,0 +1,54 @@
+package com.planora.benchmark;
+
+import com.planora.service.ItineraryOptimizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling a candidate pool over a five-day trip, with costs drawn so that
+ * roughly a fifth of the pool fits the activities budget. Includes the time
+ * the search spends improving on its first plan, up to the default budget.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItineraryOptimizerBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "SIGHTSEEING", "ADVENTURE", "CULTURAL", "FOOD", "SHOPPING", "NATURE", "NIGHTLIFE", "WELLNESS"
+    };
+
+    @Param({"30", "300"})
+    public int candidates;
+
+    private ItineraryOptimizer optimizer;
+    private double[] costs;
+    private int[] hours;
+    private String[] categories;
+
+    @Setup
+    public void setUp() {
+        optimizer = new ItineraryOptimizer(8, 2, Duration.ofMillis(15), 500);
+        Random random = new Random(42);
+        costs = new double[candidates];
+        hours = new int[candidates];
+        categories = new String[candidates];
+        double meanCost = 5.0 / candidates;
+        for (int i = 0; i < candidates; i++) {
+            costs[i] = meanCost * (0.5 + random.nextDouble());
+            hours[i] = 1 + random.nextInt(6);
+            categories[i] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        }
+    }
+
+    @Benchmark
+    public int[] schedule() {
+        return optimizer.schedule(costs, hours, categories, 1.0, 5);
+    }
+}
@@ -0,0 +1,38 @@
+package com.planora.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.planora.dto.ApiResponse;
+import com.planora.dto.TripResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"3", "1000"})
+    public int recommendations;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<TripResponseDTO> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = new ApiResponse<>(true, "Trip retrieved successfully", Fixtures.tripResponse(recommendations),
+                "2025-01-01T12:00:00");
+    }
+
+    @Benchmark
+    public byte[] serializeTripResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
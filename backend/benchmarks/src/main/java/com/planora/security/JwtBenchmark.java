@@ -0,0 +1,60 @@
+package com.planora.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the security package to call the package-private
+ * JwtTokenProvider.init without a Spring context
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    // 0 disables the verified-token cache, so every call pays for full verification
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        provider = new JwtTokenProvider();
+        set(provider, "jwtSecret", SECRET);
+        set(provider, "jwtExpiration", 86_400_000L);
+        set(provider, "verifiedCacheSize", verifiedCacheSize);
+        provider.init();
+
+        token = provider.generateTokenFromUsername("john@example.com");
+    }
+
+    @Benchmark
+    public String generateTokenFromUsername() {
+        return provider.generateTokenFromUsername("john@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return provider.getUsernameFromToken(token);
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,57 @@
+package com.planora.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the service package to reach the package-private RouteSolver.
+ * Stops are random points on a 2,000 km square; up to 12 stops are solved
+ * exactly, the rest heuristically with the default 30 ms budget.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RouteSolverBenchmark {
+
+    private static final int EXACT_MAX_STOPS = 12;
+    private static final long TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(30);
+
+    @Param({"8", "12", "15", "25"})
+    public int stops;
+
+    private double[] weights;
+    private int n;
+
+    @Setup
+    public void setUp() {
+        n = stops + 1;
+        Random random = new Random(42);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * 2_000;
+            y[i] = random.nextDouble() * 2_000;
+        }
+        weights = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                weights[i * n + j] = Math.hypot(x[i] - x[j], y[i] - y[j]);
+            }
+        }
+    }
+
+    @Benchmark
+    public RouteSolver.Solution closedRoute() {
+        return RouteSolver.solve(weights, n, true, EXACT_MAX_STOPS, System.nanoTime() + TIME_BUDGET_NANOS);
+    }
+
+    @Benchmark
+    public RouteSolver.Solution openRoute() {
+        return RouteSolver.solve(weights, n, false, EXACT_MAX_STOPS, System.nanoTime() + TIME_BUDGET_NANOS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.planora.service;
+
+import com.planora.benchmark.Fixtures;
+import com.planora.dto.TripResponseDTO;
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Destination;
+import com.planora.entity.Trip;
+import com.planora.entity.TripActivity;
+import com.planora.entity.TripHotel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the service package to reach the package-private
+ * TripPlanningService.convertToResponseDTO
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TripMappingBenchmark {
+
+    // 2 hotels / 3 activities is what createTripPlan produces today
+    @Param({"3", "100"})
+    public int recommendations;
+
+    private TripPlanningService service;
+    private Trip trip;
+    private Destination destination;
+    private BudgetAllocation budgetAllocation;
+    private List<TripHotel> hotels;
+    private List<TripActivity> activities;
+
+    @Setup
+    public void setUp() {
+        BudgetAllocationService budgetAllocationService =
+                new BudgetAllocationService(Fixtures.inMemoryBudgetAllocations());
+        DestinationIndex destinationIndex =
+                new DestinationIndex(Fixtures.inMemoryDestinations(Fixtures.destinations(100)));
+        destinationIndex.refresh();
+        RecommendationCatalog recommendationCatalog = Fixtures.recommendationCatalog(
+                Fixtures.hotels(recommendations), Fixtures.activities(recommendations));
+        // Only the budget allocation service, the destination index and the catalog are used by the mapping
+        service = new TripPlanningService(null, budgetAllocationService, destinationIndex,
+                null, null, recommendationCatalog, null, null, null, null, null);
+
+        trip = Fixtures.trip(1L);
+        destination = Fixtures.destination();
+        budgetAllocation = Fixtures.budgetAllocation(1L);
+        hotels = Fixtures.tripHotels(1L, recommendations);
+        activities = Fixtures.tripActivities(1L, recommendations);
+    }
+
+    @Benchmark
+    public TripResponseDTO convertToResponseDTO() {
+        return service.convertToResponseDTO(trip, destination, budgetAllocation, hotels, activities);
+    }
+}
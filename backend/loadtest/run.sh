@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Build the backend and the load-test harness, create the schema, generate a
+# synthetic dataset, then drive the API against it and print per-operation
+# throughput and latency percentiles.
+#
+# Defaults to a file-backed H2 database under target/db. Point JDBC_URL (plus
+# JDBC_USER and JDBC_PASSWORD) at PostgreSQL for production-like numbers.
+# USERS and TRIPS size the dataset; use USERS=100000 TRIPS=2000000 for the
+# full-scale run. SKIP_GENERATE=1 reuses a dataset from an earlier run.
+# Extra arguments are passed to the driver, e.g.
+#   ./run.sh --concurrency 128 --duration 5m
+#   ./run.sh --mix trip=80,mytrips=20
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+USERS=${USERS:-10000}
+TRIPS=${TRIPS:-200000}
+JDBC_URL=${JDBC_URL:-jdbc:h2:file:$(pwd)/target/db/planora;AUTO_SERVER=TRUE}
+JDBC_USER=${JDBC_USER:-sa}
+JDBC_PASSWORD=${JDBC_PASSWORD:-}
+PORT=${PORT:-8080}
+MANIFEST=target/loadtest-manifest.properties
+
+case "$JDBC_URL" in
+    jdbc:postgresql:*)
+        driver=org.postgresql.Driver
+        dialect=org.hibernate.dialect.PostgreSQLDialect ;;
+    *)
+        driver=org.h2.Driver
+        dialect=org.hibernate.dialect.H2Dialect ;;
+esac
+
+(cd .. && mvn -B -q package -DskipTests)
+mvn -B -q package -DskipTests
+backend_jar=$(ls ../target/planora-backend-*.jar | grep -v original | head -n 1)
+
+backend_pid=""
+stop_backend() {
+    if [ -n "$backend_pid" ]; then
+        kill "$backend_pid" 2>/dev/null || true
+        wait "$backend_pid" 2>/dev/null || true
+        backend_pid=""
+    fi
+}
+trap stop_backend EXIT
+
+start_backend() {
+    SPRING_DATASOURCE_URL="$JDBC_URL" \
+    SPRING_DATASOURCE_DRIVER="$driver" \
+    SPRING_DATASOURCE_USERNAME="$JDBC_USER" \
+    SPRING_DATASOURCE_PASSWORD="$JDBC_PASSWORD" \
+    SPRING_JPA_DIALECT="$dialect" \
+    SPRING_JPA_DDL_AUTO=update \
+    SPRING_JPA_SHOW_SQL=false \
+    SPRING_SQL_INIT_MODE=never \
+    SERVER_PORT="$PORT" \
+        java -jar "$backend_jar" > target/backend.log 2>&1 &
+    backend_pid=$!
+
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; then
+            return
+        fi
+        if ! kill -0 "$backend_pid" 2>/dev/null; then
+            echo "Backend exited during startup, see target/backend.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+    echo "Backend did not become healthy within 120s, see target/backend.log" >&2
+    exit 1
+}
+
+if [ "${SKIP_GENERATE:-0}" != "1" ]; then
+    # Start once so Hibernate creates the schema, then stop before bulk loading
+    start_backend
+    stop_backend
+
+    java -jar target/loadtest.jar generate \
+        --jdbc-url "$JDBC_URL" --jdbc-user "$JDBC_USER" --jdbc-password "$JDBC_PASSWORD" \
+        --users "$USERS" --trips "$TRIPS" --manifest "$MANIFEST"
+fi
+
+start_backend
+java -jar target/loadtest.jar run --base-url "http://localhost:${PORT}" --manifest "$MANIFEST" "$@"
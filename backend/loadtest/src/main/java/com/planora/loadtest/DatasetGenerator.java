@@ -0,0 +1,357 @@
+package com.planora.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Writes synthetic users, trips, budget allocations and hotel and activity
+ * recommendations straight into the backend's schema with JDBC batches. The schema must
+ * already exist: start the backend against the database once so Hibernate
+ * creates it. Ids continue from the current maximum, and identity columns and
+ * sequences are moved past the generated rows afterwards, so the backend can
+ * keep inserting normally.
+ */
+final class DatasetGenerator {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Chennai", "Kolkata", "Pune",
+            "Hyderabad", "Ahmedabad", "Jaipur", "Lucknow"};
+    private static final String[] TRAVEL_TYPES = {"SOLO", "COUPLE", "FAMILY"};
+    private static final String[] PLAN_TYPES = {"BUDGET", "BALANCED", "COMFORT"};
+    private static final String[] STATUSES = {"DRAFT", "CONFIRMED", "COMPLETED"};
+
+    // travel, accommodation, food, activities - same ratios as BudgetAllocationService
+    private static final double[][] ALLOCATION_RATIOS = {
+            {0.40, 0.30, 0.15, 0.15},
+            {0.35, 0.35, 0.15, 0.15},
+            {0.25, 0.45, 0.15, 0.15}};
+
+    // Hibernate pooled sequences hand out ids below the sequence value, so leave one block of headroom
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private final String jdbcUrl;
+    private final String jdbcUser;
+    private final String jdbcPassword;
+    private final int users;
+    private final long trips;
+    private final int batchSize;
+    private final long seed;
+    private final Path manifest;
+
+    DatasetGenerator(Options options) {
+        this.jdbcUrl = options.get("jdbc-url", "jdbc:h2:file:./target/db/planora;AUTO_SERVER=TRUE");
+        this.jdbcUser = options.get("jdbc-user", "sa");
+        this.jdbcPassword = options.get("jdbc-password", "");
+        this.users = options.getInt("users", 100_000);
+        this.trips = options.getLong("trips", 2_000_000);
+        this.batchSize = options.getInt("batch-size", 1_000);
+        this.seed = options.getLong("seed", 42);
+        this.manifest = Path.of(options.get("manifest", "loadtest-manifest.properties"));
+    }
+
+    void generate() throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword)) {
+            connection.setAutoCommit(false);
+            requireSchema(connection);
+
+            long started = System.nanoTime();
+            List<long[]> destinations = seedDestinations(connection);
+            List<CatalogEntry> hotels = seedCatalog(connection, "hotel_catalog", "price_share", """
+                    INSERT INTO hotel_catalog (name, price_share, rating, amenities, created_at) VALUES
+                    ('Comfort Inn', 0.70, 4.0, '["WiFi", "Breakfast", "Pool"]', CURRENT_TIMESTAMP),
+                    ('Grand Plaza Hotel', 0.90, 4.5, '["WiFi", "Breakfast", "Gym", "Spa"]', CURRENT_TIMESTAMP)
+                    """);
+            List<CatalogEntry> activities = seedCatalog(connection, "activity_catalog", "cost_share", """
+                    INSERT INTO activity_catalog (name, description, cost_share, duration_hours, category, created_at) VALUES
+                    ('City Tour', 'Explore the city''s main attractions', 0.30, 4, 'SIGHTSEEING', CURRENT_TIMESTAMP),
+                    ('Local Food Experience', 'Taste authentic local cuisine', 0.25, 3, 'FOOD', CURRENT_TIMESTAMP),
+                    ('Adventure Activity', 'Exciting outdoor adventure', 0.35, 5, 'ADVENTURE', CURRENT_TIMESTAMP)
+                    """);
+            long firstUserId = maxId(connection, "users") + 1;
+            insertUsers(connection, firstUserId);
+            insertTrips(connection, firstUserId, destinations, hotels, activities);
+            advanceIdGenerators(connection);
+            connection.commit();
+
+            System.out.printf("Generated %,d users and %,d trips in %.1fs%n",
+                    users, trips, (System.nanoTime() - started) / 1e9);
+            writeManifest(firstUserId, firstUserId + users - 1);
+        }
+    }
+
+    private void requireSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT COUNT(*) FROM trips").close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema not found. Start the backend against " + jdbcUrl
+                    + " once so Hibernate creates the tables, then run generate again.", e);
+        }
+    }
+
+    /**
+     * Insert the sample destinations from data.sql when the table is empty,
+     * and return every destination as {id, averageCost}
+     */
+    private List<long[]> seedDestinations(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM destinations")) {
+            count.next();
+            if (count.getLong(1) == 0) {
+                statement.executeUpdate("""
+                        INSERT INTO destinations (name, country, description, average_cost, popularity_score, created_at) VALUES
+                        ('Goa', 'India', 'Beautiful beaches and Portuguese heritage', 50.00, 95, CURRENT_TIMESTAMP),
+                        ('Jaipur', 'India', 'The Pink City with magnificent forts and palaces', 40.00, 90, CURRENT_TIMESTAMP),
+                        ('Kerala', 'India', 'God''s Own Country with backwaters and hill stations', 60.00, 92, CURRENT_TIMESTAMP),
+                        ('Manali', 'India', 'Himalayan paradise for adventure and nature lovers', 55.00, 88, CURRENT_TIMESTAMP),
+                        ('Udaipur', 'India', 'City of Lakes with royal palaces', 45.00, 87, CURRENT_TIMESTAMP),
+                        ('Rishikesh', 'India', 'Yoga capital and adventure sports hub', 35.00, 85, CURRENT_TIMESTAMP),
+                        ('Varanasi', 'India', 'Spiritual capital on the banks of Ganges', 30.00, 89, CURRENT_TIMESTAMP),
+                        ('Darjeeling', 'India', 'Tea gardens and Himalayan views', 50.00, 86, CURRENT_TIMESTAMP)
+                        """);
+            }
+        }
+
+        List<long[]> destinations = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT id, average_cost FROM destinations")) {
+            while (rows.next()) {
+                destinations.add(new long[] {rows.getLong(1), (long) rows.getDouble(2)});
+            }
+        }
+        connection.commit();
+        return destinations;
+    }
+
+    /**
+     * Run the seed insert when the catalog table is empty, and return every
+     * entry with its price or cost share
+     */
+    private static List<CatalogEntry> seedCatalog(Connection connection, String table, String shareColumn,
+            String seed) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            count.next();
+            if (count.getLong(1) == 0) {
+                statement.executeUpdate(seed);
+            }
+        }
+
+        List<CatalogEntry> entries = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery(
+                        "SELECT id, " + shareColumn + " FROM " + table + " ORDER BY id")) {
+            while (rows.next()) {
+                entries.add(new CatalogEntry(rows.getLong(1), rows.getDouble(2)));
+            }
+        }
+        connection.commit();
+        return entries;
+    }
+
+    private record CatalogEntry(long id, double share) {
+    }
+
+    private void insertUsers(Connection connection, long firstUserId) throws SQLException {
+        // Every generated user shares one password, so hash it once
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, username, email, password, provider, role, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, 'LOCAL', 'USER', ?, ?)")) {
+            for (int i = 0; i < users; i++) {
+                long id = firstUserId + i;
+                insert.setLong(1, id);
+                insert.setString(2, "loaduser" + id);
+                insert.setString(3, email(id));
+                insert.setString(4, passwordHash);
+                insert.setTimestamp(5, now);
+                insert.setTimestamp(6, now);
+                insert.addBatch();
+
+                if ((i + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        System.out.printf("Inserted %,d users%n", users);
+    }
+
+    private void insertTrips(Connection connection, long firstUserId, List<long[]> destinations,
+            List<CatalogEntry> hotels, List<CatalogEntry> activities) throws SQLException {
+        Random random = new Random(seed);
+        long tripId = maxId(connection, "trips") + 1;
+        long allocationId = maxId(connection, "budget_allocation") + 1;
+        long hotelId = maxId(connection, "trip_hotels") + 1;
+        long activityId = maxId(connection, "trip_activities") + 1;
+        LocalDateTime historyStart = LocalDateTime.now().minusYears(2);
+        long historySeconds = java.time.Duration.between(historyStart, LocalDateTime.now()).getSeconds();
+
+        try (PreparedStatement tripInsert = connection.prepareStatement(
+                "INSERT INTO trips (id, user_id, start_city, destination_id, start_date, end_date, number_of_days,"
+                        + " number_of_travelers, travel_type, total_budget, plan_type, status, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                PreparedStatement allocationInsert = connection.prepareStatement(
+                        "INSERT INTO budget_allocation (id, trip_id, travel_budget, accommodation_budget, food_budget,"
+                                + " activities_budget, total_allocated, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+                PreparedStatement hotelInsert = connection.prepareStatement(
+                        "INSERT INTO trip_hotels (id, trip_id, hotel_id, price_per_night) VALUES (?, ?, ?, ?)");
+                PreparedStatement activityInsert = connection.prepareStatement(
+                        "INSERT INTO trip_activities (id, trip_id, activity_id, cost, day_number)"
+                                + " VALUES (?, ?, ?, ?, ?)")) {
+
+            for (long i = 0; i < trips; i++, tripId++) {
+                // Squaring skews trips towards low user ids, giving a few heavy users and a long tail
+                double u = random.nextDouble();
+                long userId = firstUserId + (long) (users * u * u);
+
+                int days = 2 + random.nextInt(9);
+                LocalDate startDate = LocalDate.now().minusDays(365).plusDays(random.nextInt(730));
+                LocalDateTime createdAt = historyStart.plusSeconds((long) (random.nextDouble() * historySeconds));
+                Timestamp created = Timestamp.valueOf(createdAt);
+                int planIndex = random.nextInt(PLAN_TYPES.length);
+                double totalBudget = 5_000 + random.nextInt(195) * 1_000;
+                long[] destination = destinations.get(random.nextInt(destinations.size()));
+
+                tripInsert.setLong(1, tripId);
+                tripInsert.setLong(2, userId);
+                tripInsert.setString(3, CITIES[random.nextInt(CITIES.length)]);
+                tripInsert.setLong(4, destination[0]);
+                tripInsert.setDate(5, Date.valueOf(startDate));
+                tripInsert.setDate(6, Date.valueOf(startDate.plusDays(days - 1)));
+                tripInsert.setInt(7, days);
+                tripInsert.setInt(8, 1 + random.nextInt(4));
+                tripInsert.setString(9, TRAVEL_TYPES[random.nextInt(TRAVEL_TYPES.length)]);
+                tripInsert.setDouble(10, totalBudget);
+                tripInsert.setString(11, PLAN_TYPES[planIndex]);
+                tripInsert.setString(12, STATUSES[random.nextInt(STATUSES.length)]);
+                tripInsert.setTimestamp(13, created);
+                tripInsert.setTimestamp(14, created);
+                tripInsert.addBatch();
+
+                double[] ratios = ALLOCATION_RATIOS[planIndex];
+                allocationInsert.setLong(1, allocationId++);
+                allocationInsert.setLong(2, tripId);
+                allocationInsert.setDouble(3, totalBudget * ratios[0]);
+                allocationInsert.setDouble(4, totalBudget * ratios[1]);
+                allocationInsert.setDouble(5, totalBudget * ratios[2]);
+                allocationInsert.setDouble(6, totalBudget * ratios[3]);
+                allocationInsert.setDouble(7, totalBudget);
+                allocationInsert.setTimestamp(8, created);
+                allocationInsert.addBatch();
+
+                // Same pricing as TripPlanningService: each catalog entry's share of the category budget
+                double maxPricePerNight = totalBudget * ratios[1] / days;
+                for (CatalogEntry hotel : hotels) {
+                    addRecommendation(hotelInsert, hotelId++, tripId, hotel.id(), maxPricePerNight * hotel.share());
+                }
+                // Activities go round-robin over the days rather than through the itinerary optimizer
+                double activityBudget = totalBudget * ratios[3];
+                for (int a = 0; a < activities.size(); a++) {
+                    CatalogEntry activity = activities.get(a);
+                    activityInsert.setInt(5, 1 + a % days);
+                    addRecommendation(activityInsert, activityId++, tripId, activity.id(),
+                            activityBudget * activity.share());
+                }
+
+                if ((i + 1) % batchSize == 0) {
+                    // Parents before children, in case the schema ever gains foreign keys
+                    tripInsert.executeBatch();
+                    allocationInsert.executeBatch();
+                    hotelInsert.executeBatch();
+                    activityInsert.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % 100_000 == 0) {
+                    System.out.printf("Inserted %,d trips%n", i + 1);
+                }
+            }
+
+            tripInsert.executeBatch();
+            allocationInsert.executeBatch();
+            hotelInsert.executeBatch();
+            activityInsert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static void addRecommendation(PreparedStatement insert, long id, long tripId, long catalogId,
+            double price) throws SQLException {
+        insert.setLong(1, id);
+        insert.setLong(2, tripId);
+        insert.setLong(3, catalogId);
+        insert.setDouble(4, price);
+        insert.addBatch();
+    }
+
+    /**
+     * Move identity columns and Hibernate sequences past the generated ids
+     */
+    private void advanceIdGenerators(Connection connection) throws SQLException {
+        boolean postgres = jdbcUrl.startsWith("jdbc:postgresql:");
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[] {"users", "trips"}) {
+                long next = maxId(connection, table) + 1;
+                statement.execute(postgres
+                        ? "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + (next - 1) + ")"
+                        : "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+            String[][] sequences = {{"budget_allocation", "budget_allocation_seq"},
+                    {"trip_hotels", "trip_hotels_seq"}, {"trip_activities", "trip_activities_seq"}};
+            for (String[] sequence : sequences) {
+                long next = maxId(connection, sequence[0]) + SEQUENCE_ALLOCATION_SIZE + 1;
+                statement.execute(postgres
+                        ? "SELECT setval('" + sequence[1] + "', " + next + ", false)"
+                        : "ALTER SEQUENCE " + sequence[1] + " RESTART WITH " + next);
+            }
+        }
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private void writeManifest(long firstUserId, long lastUserId) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("firstUserId", Long.toString(firstUserId));
+        properties.setProperty("lastUserId", Long.toString(lastUserId));
+        properties.setProperty("password", PASSWORD);
+        if (manifest.getParent() != null) {
+            Files.createDirectories(manifest.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(manifest)) {
+            properties.store(out, "Planora load test dataset");
+        }
+        System.out.println("Wrote " + manifest);
+    }
+
+    static String email(long userId) {
+        return "loaduser" + userId + "@loadtest.local";
+    }
+}
@@ -0,0 +1,273 @@
+package com.planora.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP driver: {@code --concurrency} virtual threads each pick a
+ * generated user and an operation from the weighted mix, send the request,
+ * wait for the response and repeat. Latencies are recorded per operation into
+ * HdrHistograms once the warmup has elapsed.
+ */
+final class LoadDriver {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final Pattern TRIP_ID = Pattern.compile("\"tripId\":(\\d+)");
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Chennai", "Pune"};
+    private static final String[] TRAVEL_TYPES = {"SOLO", "COUPLE", "FAMILY"};
+    private static final String[] PLAN_TYPES = {"BUDGET", "BALANCED", "COMFORT"};
+    private static final long MAX_LATENCY_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private enum Operation {
+        LOGIN, PLAN, TRIP, MYTRIPS
+    }
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Operation[] mix;
+    private final Path manifest;
+    private final HttpClient client;
+
+    private final Map<Operation, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<Operation, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> tripIds = new ConcurrentHashMap<>();
+
+    private long firstUserId;
+    private long lastUserId;
+    private String password;
+    private volatile boolean measuring;
+
+    LoadDriver(Options options) {
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.concurrency = options.getInt("concurrency", 64);
+        this.duration = options.getDuration("duration", Duration.ofSeconds(60));
+        this.warmup = options.getDuration("warmup", Duration.ofSeconds(10));
+        this.mix = parseMix(options.get("mix", "login=5,plan=10,trip=45,mytrips=40"));
+        this.manifest = Path.of(options.get("manifest", "loadtest-manifest.properties"));
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Expand "login=5,plan=10,..." into a 100-slot lookup table so picking an
+     * operation is a single random index
+     */
+    private static Operation[] parseMix(String spec) {
+        List<Operation> weighted = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            for (int i = Integer.parseInt(parts[1].trim()); i > 0; i--) {
+                weighted.add(operation);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Empty --mix: " + spec);
+        }
+        return weighted.toArray(Operation[]::new);
+    }
+
+    void run() throws IOException, InterruptedException {
+        loadManifest();
+        System.out.printf("Driving %s with %d workers for %ds after %ds warmup, users %d-%d%n",
+                baseUrl, concurrency, duration.toSeconds(), warmup.toSeconds(), firstUserId, lastUserId);
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> work(end));
+            }
+
+            Thread.sleep(Math.max(0, (warmupEnd - System.nanoTime()) / 1_000_000));
+            // Drop anything recorded during warmup
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(count -> count.set(0));
+            measuring = true;
+        }
+
+        report();
+    }
+
+    private void loadManifest() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(manifest)) {
+            properties.load(in);
+        }
+        firstUserId = Long.parseLong(properties.getProperty("firstUserId"));
+        lastUserId = Long.parseLong(properties.getProperty("lastUserId"));
+        password = properties.getProperty("password");
+    }
+
+    private void work(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            long userId = firstUserId + random.nextLong(lastUserId - firstUserId + 1);
+            Operation operation = mix[random.nextInt(mix.length)];
+            try {
+                // Users without a token log in first; that request counts as a login
+                String token = tokens.get(userId);
+                if (token == null || operation == Operation.LOGIN) {
+                    login(userId);
+                    continue;
+                }
+                switch (operation) {
+                    case PLAN -> plan(token);
+                    case TRIP -> trip(userId, token);
+                    case MYTRIPS -> myTrips(userId, token);
+                    default -> throw new IllegalStateException(operation.name());
+                }
+            } catch (IOException e) {
+                errors.get(operation).incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void login(long userId) throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + DatasetGenerator.email(userId) + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = send(Operation.LOGIN, post("/api/auth/login", body, null));
+        if (response != null) {
+            Matcher matcher = TOKEN.matcher(response.body());
+            if (matcher.find()) {
+                tokens.put(userId, matcher.group(1));
+            }
+        }
+    }
+
+    private void plan(String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int days = 2 + random.nextInt(6);
+        LocalDate startDate = LocalDate.now().plusDays(7 + random.nextInt(90));
+        String body = "{\"startCity\":\"" + CITIES[random.nextInt(CITIES.length)] + "\""
+                + ",\"startDate\":\"" + startDate + "\""
+                + ",\"endDate\":\"" + startDate.plusDays(days - 1) + "\""
+                + ",\"numberOfDays\":" + days
+                + ",\"numberOfTravelers\":" + (1 + random.nextInt(4))
+                + ",\"travelType\":\"" + TRAVEL_TYPES[random.nextInt(TRAVEL_TYPES.length)] + "\""
+                + ",\"totalBudget\":" + (10_000 + random.nextInt(90) * 1_000)
+                + ",\"planType\":\"" + PLAN_TYPES[random.nextInt(PLAN_TYPES.length)] + "\"}";
+        send(Operation.PLAN, post("/api/trips/plan", body, token));
+    }
+
+    private void trip(long userId, String token) throws IOException, InterruptedException {
+        long[] ids = tripIds.get(userId);
+        if (ids == null || ids.length == 0) {
+            // Learn this user's trip ids first
+            myTrips(userId, token);
+            return;
+        }
+        long tripId = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        send(Operation.TRIP, get("/api/trips/" + tripId, token));
+    }
+
+    private void myTrips(long userId, String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(Operation.MYTRIPS, get("/api/trips/my-trips", token));
+        if (response != null) {
+            Matcher matcher = TRIP_ID.matcher(response.body());
+            List<Long> ids = new ArrayList<>();
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            tripIds.put(userId, ids.stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Send a request and record its latency; non-2xx responses count as
+     * errors and return null
+     */
+    private HttpResponse<String> send(Operation operation, HttpRequest request)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - started;
+
+        if (response.statusCode() / 100 != 2) {
+            errors.get(operation).incrementAndGet();
+            return null;
+        }
+        recorders.get(operation).recordValue(Math.min(elapsed, MAX_LATENCY_NANOS));
+        return response;
+    }
+
+    private void report() {
+        if (!measuring) {
+            return;
+        }
+        double seconds = duration.toNanos() / 1e9;
+        long totalCount = 0;
+        long totalErrors = 0;
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            long failed = errors.get(operation).get();
+            totalCount += count;
+            totalErrors += failed;
+            System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(Locale.ROOT), count, failed, count / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+        System.out.printf("%-8s %10d %8d %10.1f%n", "total", totalCount, totalErrors, totalCount / seconds);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,40 @@
+package com.planora.loadtest;
+
+/**
+ * Entry point: {@code generate} fills a database with synthetic users and
+ * trips, {@code run} drives the HTTP API against that data and reports
+ * throughput and latency percentiles.
+ */
+public final class LoadTest {
+
+    private static final String USAGE = """
+            usage:
+              java -jar loadtest.jar generate [--jdbc-url URL] [--jdbc-user USER] [--jdbc-password PASSWORD]
+                                              [--users 100000] [--trips 2000000] [--batch-size 1000]
+                                              [--seed 42] [--manifest loadtest-manifest.properties]
+              java -jar loadtest.jar run      [--base-url http://localhost:8080] [--concurrency 64]
+                                              [--duration 60s] [--warmup 10s]
+                                              [--mix login=5,plan=10,trip=45,mytrips=40]
+                                              [--manifest loadtest-manifest.properties]
+            """;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.print(USAGE);
+            System.exit(2);
+        }
+
+        Options options = Options.parse(args, 1);
+        switch (args[0]) {
+            case "generate" -> new DatasetGenerator(options).generate();
+            case "run" -> new LoadDriver(options).run();
+            default -> {
+                System.err.print(USAGE);
+                System.exit(2);
+            }
+        }
+    }
+}
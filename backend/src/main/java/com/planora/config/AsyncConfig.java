@@ -0,0 +1,49 @@
+package com.planora.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${planora.planning.executor.core-size:4}")
+    private int corePoolSize;
+
+    @Value("${planora.planning.executor.max-size:8}")
+    private int maxPoolSize;
+
+    @Value("${planora.planning.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * Bounded executor for background plan generation: at most max-size jobs
+     * run at once, on virtual threads when they are enabled, and up to
+     * queue-capacity more wait. Beyond that submissions are rejected, so
+     * overload is answered with 503 instead of planning on the request thread.
+     */
+    @Bean
+    public AsyncTaskExecutor planningExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(virtualThreads);
+        // Virtual threads are cheap to keep, so start all of them before queueing
+        executor.setCorePoolSize(virtualThreads ? maxPoolSize : corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("plan-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
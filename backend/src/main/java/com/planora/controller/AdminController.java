@@ -0,0 +1,39 @@
+package com.planora.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.planora.dto.ApiResponse;
+import com.planora.dto.CacheStatsDTO;
+import com.planora.service.TripResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final TripResponseCache tripResponseCache;
+
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getCacheStats() {
+        CacheStats stats = tripResponseCache.stats();
+        CacheStatsDTO tripStats = new CacheStatsDTO(
+                "trips",
+                tripResponseCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty() / 1_000_000.0);
+
+        return ResponseEntity.ok(ApiResponse.success(List.of(tripStats), "Cache statistics retrieved successfully"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.planora.controller;
+
+import com.planora.dto.ApiResponse;
+import com.planora.dto.DestinationDTO;
+import com.planora.dto.DestinationSearchDTO;
+import com.planora.service.DestinationCatalogService;
+import com.planora.service.ResourceVersion;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/destinations")
+public class DestinationController {
+
+    private final DestinationCatalogService destinationCatalogService;
+    private final CacheControl cacheControl;
+
+    public DestinationController(DestinationCatalogService destinationCatalogService,
+            @Value("${planora.destinations.cache-max-age:PT1M}") Duration cacheMaxAge) {
+        this.destinationCatalogService = destinationCatalogService;
+        // The catalog is the same for everyone, so browsers and shared caches may both keep it
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<DestinationDTO>>> searchDestinations(
+            @Valid DestinationSearchDTO query,
+            WebRequest webRequest) {
+
+        // Every response is derived from the same catalog version, so one ETag covers all queries
+        ResourceVersion version = destinationCatalogService.getVersion();
+        if (webRequest.checkNotModified(version.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+
+        List<DestinationDTO> destinations = destinationCatalogService.search(query);
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(ApiResponse.success(destinations, "Destinations retrieved successfully"));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<DestinationDTO>> getDestination(
+            @PathVariable Long id,
+            WebRequest webRequest) {
+
+        // Look the destination up first so an unknown id is a 404, never a 304
+        ResourceVersion version = destinationCatalogService.getVersion();
+        DestinationDTO destination = destinationCatalogService.getDestination(id);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(ApiResponse.success(destination, "Destination retrieved successfully"));
+    }
+}
@@ -1,26 +1,54 @@
 package com.planora.controller;
 
 import com.planora.dto.ApiResponse;
+import com.planora.dto.BudgetScenarioDTO;
+import com.planora.dto.BudgetScenarioRequestDTO;
+import com.planora.dto.PlanJobDTO;
+import com.planora.dto.RouteDTO;
+import com.planora.dto.RouteRequestDTO;
+import com.planora.dto.TripFilterDTO;
+import com.planora.dto.TripImportResultDTO;
+import com.planora.dto.TripPageDTO;
 import com.planora.dto.TripRequestDTO;
 import com.planora.dto.TripResponseDTO;
-import com.planora.entity.User;
-import com.planora.repository.UserRepository;
+import com.planora.security.UserPrincipal;
+import com.planora.service.BudgetScenarioService;
+import com.planora.service.ResourceVersion;
+import com.planora.service.RoutePlanningService;
+import com.planora.service.TripExportService;
+import com.planora.service.TripImportService;
+import com.planora.service.TripPlanJobService;
 import com.planora.service.TripPlanningService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/trips")
 @RequiredArgsConstructor
 public class TripController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final TripPlanningService tripPlanningService;
-    private final UserRepository userRepository;
+    private final TripPlanJobService tripPlanJobService;
+    private final BudgetScenarioService budgetScenarioService;
+    private final TripExportService tripExportService;
+    private final TripImportService tripImportService;
+    private final RoutePlanningService routePlanningService;
 
     @PostMapping("/plan")
     public ResponseEntity<ApiResponse<TripResponseDTO>> createTripPlan(
@@ -33,29 +61,159 @@ public class TripController {
         return ResponseEntity.ok(ApiResponse.success(response, "Trip plan created successfully"));
     }
 
+    @PostMapping("/plan/preview")
+    public ResponseEntity<ApiResponse<TripResponseDTO>> previewTripPlan(
+            @Valid @RequestBody TripRequestDTO requestDTO) {
+
+        TripResponseDTO response = tripPlanningService.previewTripPlan(requestDTO);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Trip plan preview generated successfully"));
+    }
+
+    @PostMapping("/plan/async")
+    public ResponseEntity<ApiResponse<PlanJobDTO>> createTripPlanAsync(
+            @Valid @RequestBody TripRequestDTO requestDTO,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        PlanJobDTO job = tripPlanJobService.submit(requestDTO, userId);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/trips/plan/jobs/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(ApiResponse.success(job, "Trip plan accepted"));
+    }
+
+    @GetMapping("/plan/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<PlanJobDTO>> getPlanJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        PlanJobDTO job = tripPlanJobService.getJob(jobId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(job, "Plan job retrieved successfully"));
+    }
+
+    @PostMapping("/{id}/plan/retry")
+    public ResponseEntity<ApiResponse<PlanJobDTO>> retryTripPlan(
+            @PathVariable Long id,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        PlanJobDTO job = tripPlanJobService.retry(id, userId);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/trips/plan/jobs/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(ApiResponse.success(job, "Trip plan accepted"));
+    }
+
+    @GetMapping("/scenarios")
+    public ResponseEntity<ApiResponse<BudgetScenarioDTO>> getBudgetScenarios(
+            @Valid BudgetScenarioRequestDTO requestDTO) {
+
+        BudgetScenarioDTO scenarios = budgetScenarioService.sweep(requestDTO);
+
+        return ResponseEntity.ok(ApiResponse.success(scenarios, "Budget scenarios calculated successfully"));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TripResponseDTO>> getTripById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Long userId = getUserIdFromAuthentication(authentication);
+
+        // Answer 304 before loading child rows when the client's copy is current
+        ResourceVersion version = tripPlanningService.getTripVersion(id, userId);
+        if (version != null && webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
+
         TripResponseDTO response = tripPlanningService.getTripById(id, userId);
 
-        return ResponseEntity.ok(ApiResponse.success(response, "Trip retrieved successfully"));
+        // Let browsers keep the body but revalidate it with If-None-Match on every poll
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(response, "Trip retrieved successfully"));
+    }
+
+    @PostMapping("/{id}/route")
+    public ResponseEntity<ApiResponse<RouteDTO>> planRoute(
+            @PathVariable Long id,
+            @Valid @RequestBody RouteRequestDTO requestDTO,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        RouteDTO route = routePlanningService.planRoute(id, requestDTO, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(route, "Route planned successfully"));
     }
 
     @GetMapping("/my-trips")
-    public ResponseEntity<ApiResponse<List<TripResponseDTO>>> getMyTrips(Authentication authentication) {
+    public ResponseEntity<ApiResponse<TripPageDTO>> getMyTrips(
+            TripFilterDTO filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication,
+            WebRequest webRequest) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+
+        ResourceVersion version = tripPlanningService.getUserTripsVersion(userId, filter, cursor, size);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
+
+        TripPageDTO page = tripPlanningService.getUserTripsPage(userId, filter, cursor, size);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(page, "Trips retrieved successfully"));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMyTrips(Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+
+        // Written on an async thread after this method returns, one trip per line
+        StreamingResponseBody body = out -> tripExportService.exportTrips(userId, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("trips.ndjson").build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<ApiResponse<TripImportResultDTO>> importTrips(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            Authentication authentication) throws IOException {
+
         Long userId = getUserIdFromAuthentication(authentication);
-        List<TripResponseDTO> trips = tripPlanningService.getUserTrips(userId);
+        TripImportResultDTO result = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? tripImportService.importNdjson(userId, body)
+                : tripImportService.importCsv(userId, body);
 
-        return ResponseEntity.ok(ApiResponse.success(trips, "Trips retrieved successfully"));
+        String message = "Imported " + result.getImportedRows() + " of " + result.getTotalRows() + " trips";
+        return ResponseEntity.ok(ApiResponse.success(result, message));
     }
 
     private Long getUserIdFromAuthentication(Authentication authentication) {
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return principal.getId();
     }
 }
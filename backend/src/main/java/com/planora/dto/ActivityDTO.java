@@ -16,4 +16,5 @@ public class ActivityDTO {
     private Integer durationHours;
     private String category;
     private String imageUrl;
+    private Integer day;
 }
@@ -0,0 +1,22 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Column-oriented result of a budget sweep: index i of every array describes
+ * the scenario with total budget budgets[i]
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetScenarioDTO {
+
+    private Integer numberOfDays;
+    private double[] budgets;
+
+    private List<PlanScenarioDTO> plans;
+}
@@ -0,0 +1,38 @@
+package com.planora.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetScenarioRequestDTO {
+
+    @NotNull(message = "Minimum budget is required")
+    @DecimalMin(value = "0.01", message = "Minimum budget must be greater than 0")
+    private Double minBudget;
+
+    @NotNull(message = "Maximum budget is required")
+    @DecimalMin(value = "0.01", message = "Maximum budget must be greater than 0")
+    private Double maxBudget;
+
+    @NotNull(message = "Budget step is required")
+    @DecimalMin(value = "0.01", message = "Budget step must be greater than 0")
+    private Double step;
+
+    @NotNull(message = "Number of days is required")
+    @Min(value = 1, message = "Number of days must be at least 1")
+    private Integer numberOfDays;
+
+    // Defaults to every plan type when empty
+    private List<@Pattern(regexp = "BUDGET|BALANCED|COMFORT",
+            message = "Plan type must be BUDGET, BALANCED, or COMFORT") String> planTypes;
+
+    // Optional; tunes destination ranking like the travel type of a trip request
+    @Pattern(regexp = "SOLO|COUPLE|FAMILY", message = "Travel type must be SOLO, COUPLE, or FAMILY")
+    private String travelType;
+}
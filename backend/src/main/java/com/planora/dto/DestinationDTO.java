@@ -0,0 +1,21 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationDTO {
+
+    private Long id;
+    private String name;
+    private String country;
+    private String description;
+    private Double averageCost;
+    private Integer popularityScore;
+    private String imageUrl;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,21 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A ranked destination offered alongside a trip plan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationOptionDTO {
+
+    private Long id;
+    private String name;
+    private String country;
+    private Double averageCost;
+    private Integer popularityScore;
+    private Double score;
+}
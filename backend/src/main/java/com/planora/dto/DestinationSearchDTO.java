@@ -0,0 +1,35 @@
+package com.planora.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationSearchDTO {
+
+    // Type-ahead: every word must prefix a word of the name or country
+    @Size(max = 100, message = "Search text must be at most 100 characters")
+    private String q;
+
+    // Every word must appear in the description
+    @Size(max = 200, message = "Keywords must be at most 200 characters")
+    private String keyword;
+
+    private Double minCost;
+    private Double maxCost;
+    private Integer minPopularity;
+
+    @Pattern(regexp = "cost|popularity|name", message = "Sort must be cost, popularity, or name")
+    private String sort = "popularity";
+
+    // Defaults to desc for popularity and asc otherwise
+    @Pattern(regexp = "asc|desc", message = "Direction must be asc or desc")
+    private String direction;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit must be at most 100")
+    private Integer limit = 20;
+}
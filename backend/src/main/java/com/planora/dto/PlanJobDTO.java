@@ -0,0 +1,19 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanJobDTO {
+
+    private String jobId;
+    private Long tripId;
+    private String status; // PENDING, RUNNING, COMPLETED, FAILED
+    private String error;
+
+    // Present once the job has completed
+    private TripResponseDTO result;
+}
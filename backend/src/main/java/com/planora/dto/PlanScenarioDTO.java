@@ -0,0 +1,26 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Chosen destinations and category amounts for one plan type across a
+ * budget sweep, aligned with BudgetScenarioDTO.budgets
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanScenarioDTO {
+
+    private String planType;
+
+    // Top-ranked destination per budget; null entries where none fits
+    private Long[] destinationIds;
+    private String[] destinationNames;
+
+    private double[] travelBudget;
+    private double[] accommodationBudget;
+    private double[] foodBudget;
+    private double[] activitiesBudget;
+}
@@ -0,0 +1,32 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ordered multi-city route for a trip, with totals checked against the
+ * trip's travel budget
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteDTO {
+
+    private Long tripId;
+
+    // COST or TIME; COST when the fastest route did not fit the travel budget
+    private String optimizedFor;
+    private List<RouteLegDTO> legs;
+
+    private Double totalDistanceKm;
+    private Double totalHours;
+    private Double totalCost;
+    private Double travelBudget;
+    private Boolean withinBudget;
+
+    // Whether the order is proven best rather than found by the heuristic
+    private Boolean optimal;
+}
@@ -0,0 +1,23 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One leg of a multi-city route; cost covers every traveler
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteLegDTO {
+
+    private Long fromDestinationId;
+    private String fromName;
+    private Long toDestinationId;
+    private String toName;
+    private String mode; // ROAD or FLIGHT
+    private Double distanceKm;
+    private Double hours;
+    private Double cost;
+}
@@ -0,0 +1,32 @@
+package com.planora.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Stops to visit on a multi-city trip, in any order; the trip's own
+ * destination is always one of them
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteRequestDTO {
+
+    @NotEmpty(message = "At least one stop is required")
+    @Size(max = 25, message = "A route may have at most 25 stops")
+    private List<@NotNull(message = "Stop ids must not be null") Long> destinationIds;
+
+    // Defaults to the destination named like the trip's start city; without one the route starts at a stop
+    private Long startDestinationId;
+
+    // Defaults to COST
+    @Pattern(regexp = "COST|TIME", message = "Optimize for must be COST or TIME")
+    private String optimizeFor;
+
+    // Defaults to true
+    private Boolean returnToStart;
+}
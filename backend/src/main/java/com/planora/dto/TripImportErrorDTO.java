@@ -0,0 +1,20 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripImportErrorDTO {
+
+    // 1-based line in the uploaded body
+    private Long line;
+    private String message;
+
+    // Field name to constraint message, when the row failed validation
+    private Map<String, String> fieldErrors;
+}
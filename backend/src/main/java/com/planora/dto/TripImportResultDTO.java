@@ -0,0 +1,21 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripImportResultDTO {
+
+    private Long totalRows;
+    private Long importedRows;
+    private Long failedRows;
+
+    // Only the first errors are listed; errorsTruncated is set when more rows failed
+    private List<TripImportErrorDTO> errors;
+    private Boolean errorsTruncated;
+}
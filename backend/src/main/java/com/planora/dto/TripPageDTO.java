@@ -0,0 +1,19 @@
+package com.planora.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPageDTO {
+
+    private List<TripResponseDTO> trips;
+
+    // Opaque cursor to pass back for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
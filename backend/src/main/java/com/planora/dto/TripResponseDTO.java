@@ -24,6 +24,9 @@ public class TripResponseDTO {
     private String planType;
     private String status;
 
+    // Other ranked destinations for the same budget, best first
+    private List<DestinationOptionDTO> alternativeDestinations;
+
     // Budget breakdown
     private BudgetBreakdownDTO budgetBreakdown;
 
@@ -1,5 +1,6 @@
 package com.planora.entity;
 
+import com.planora.service.RecommendationCatalogChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,8 +9,12 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Shared activity catalog entry; trips reference it through {@link TripActivity}
+ */
 @Entity
-@Table(name = "activities")
+@Table(name = "activity_catalog")
+@EntityListeners(RecommendationCatalogChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,17 +24,15 @@ public class Activity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "trip_id", nullable = false)
-    private Long tripId;
-
     @Column(nullable = false, length = 200)
     private String name;
 
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Column(nullable = false)
-    private Double cost;
+    // Share of a trip's activities budget this activity costs
+    @Column(name = "cost_share", nullable = false)
+    private Double costShare;
 
     @Column(name = "duration_hours")
     private Integer durationHours;
@@ -1,5 +1,6 @@
 package com.planora.entity;
 
+import com.planora.service.TripCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,32 +11,38 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "budget_allocation")
+@EntityListeners(TripCacheInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BudgetAllocation {
 
+    // Ids handed out per sequence call; bulk JDBC writers must reserve ids in the same blocks
+    public static final String ID_SEQUENCE = "budget_allocation_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "trip_id", unique = true, nullable = false)
     private Long tripId;
 
     @Column(name = "travel_budget", nullable = false)
-    private Double travelBudget;
+    private double travelBudget;
 
     @Column(name = "accommodation_budget", nullable = false)
-    private Double accommodationBudget;
+    private double accommodationBudget;
 
     @Column(name = "food_budget", nullable = false)
-    private Double foodBudget;
+    private double foodBudget;
 
     @Column(name = "activities_budget", nullable = false)
-    private Double activitiesBudget;
+    private double activitiesBudget;
 
     @Column(name = "total_allocated", nullable = false)
-    private Double totalAllocated;
+    private double totalAllocated;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
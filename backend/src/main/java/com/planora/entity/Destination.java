@@ -1,5 +1,6 @@
 package com.planora.entity;
 
+import com.planora.service.DestinationChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "destinations")
+@EntityListeners(DestinationChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +36,11 @@ public class Destination {
     @Column(name = "popularity_score")
     private Integer popularityScore = 0;
 
+    // WGS84 coordinates used for route planning; destinations without them cannot be routed
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
@@ -1,5 +1,6 @@
 package com.planora.entity;
 
+import com.planora.service.RecommendationCatalogChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,8 +9,12 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Shared hotel catalog entry; trips reference it through {@link TripHotel}
+ */
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotel_catalog")
+@EntityListeners(RecommendationCatalogChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,17 +24,12 @@ public class Hotel {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "trip_id", nullable = false)
-    private Long tripId;
-
     @Column(nullable = false, length = 200)
     private String name;
 
-    @Column(nullable = false, length = 200)
-    private String location;
-
-    @Column(name = "price_per_night", nullable = false)
-    private Double pricePerNight;
+    // Share of a trip's nightly accommodation budget this hotel is priced at
+    @Column(name = "price_share", nullable = false)
+    private Double priceShare;
 
     private Double rating;
 
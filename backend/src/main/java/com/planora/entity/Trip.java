@@ -1,5 +1,6 @@
 package com.planora.entity;
 
+import com.planora.service.TripCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +12,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trips")
+@Table(name = "trips", indexes = {
+        @Index(name = "idx_trips_user_created", columnList = "user_id, created_at, id")
+})
+@EntityListeners(TripCacheInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -52,7 +56,7 @@ public class Trip {
     private String planType; // BUDGET, BALANCED, COMFORT
 
     @Column(length = 20)
-    private String status = "DRAFT"; // DRAFT, CONFIRMED, COMPLETED
+    private String status = "DRAFT"; // DRAFT, CONFIRMED, COMPLETED, FAILED
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -0,0 +1,39 @@
+package com.planora.entity;
+
+import com.planora.service.TripCacheInvalidationListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A catalog activity scheduled for a trip, at the cost computed for that trip
+ */
+@Entity
+@Table(name = "trip_activities", indexes = {
+        @Index(name = "idx_trip_activities_trip", columnList = "trip_id")
+})
+@EntityListeners(TripCacheInvalidationListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trip_activities_seq")
+    @SequenceGenerator(name = "trip_activities_seq", sequenceName = "trip_activities_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "trip_id", nullable = false)
+    private Long tripId;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(nullable = false)
+    private Double cost;
+
+    // 1-based day of the trip the activity is scheduled on
+    @Column(name = "day_number")
+    private Integer dayNumber;
+}
@@ -0,0 +1,35 @@
+package com.planora.entity;
+
+import com.planora.service.TripCacheInvalidationListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A catalog hotel recommended for a trip, at the price computed for that trip
+ */
+@Entity
+@Table(name = "trip_hotels", indexes = {
+        @Index(name = "idx_trip_hotels_trip", columnList = "trip_id")
+})
+@EntityListeners(TripCacheInvalidationListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripHotel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trip_hotels_seq")
+    @SequenceGenerator(name = "trip_hotels_seq", sequenceName = "trip_hotels_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "trip_id", nullable = false)
+    private Long tripId;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "price_per_night", nullable = false)
+    private Double pricePerNight;
+}
@@ -0,0 +1,16 @@
+package com.planora.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    // Seconds a client should wait before trying again
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,44 @@
+package com.planora.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate statement inspector that counts SQL statements against the
+ * counter bound to the current thread. {@link SqlStatementMetricsFilter}
+ * binds one counter per HTTP request; threads that work on behalf of the
+ * request bind the same counter with {@link #bind(AtomicInteger)}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Counter bound to this thread, or null when nothing is being counted
+     */
+    public static AtomicInteger current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(AtomicInteger counter) {
+        if (counter != null) {
+            CURRENT.set(counter);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
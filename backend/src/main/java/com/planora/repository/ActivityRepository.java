@@ -9,7 +9,5 @@ import java.util.List;
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
-    List<Activity> findByTripId(Long tripId);
-
     List<Activity> findByCategory(String category);
 }
@@ -4,10 +4,14 @@ import com.planora.entity.BudgetAllocation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetAllocationRepository extends JpaRepository<BudgetAllocation, Long> {
 
     Optional<BudgetAllocation> findByTripId(Long tripId);
+
+    List<BudgetAllocation> findByTripIdIn(Collection<Long> tripIds);
 }
@@ -4,12 +4,6 @@ import com.planora.entity.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
-
-    List<Hotel> findByTripId(Long tripId);
-
-    List<Hotel> findByPricePerNightLessThanEqual(Double maxPrice);
 }
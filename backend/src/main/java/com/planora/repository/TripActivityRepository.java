@@ -0,0 +1,16 @@
+package com.planora.repository;
+
+import com.planora.entity.TripActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TripActivityRepository extends JpaRepository<TripActivity, Long> {
+
+    List<TripActivity> findByTripId(Long tripId);
+
+    List<TripActivity> findByTripIdIn(Collection<Long> tripIds);
+}
@@ -0,0 +1,16 @@
+package com.planora.repository;
+
+import com.planora.entity.TripHotel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TripHotelRepository extends JpaRepository<TripHotel, Long> {
+
+    List<TripHotel> findByTripId(Long tripId);
+
+    List<TripHotel> findByTripIdIn(Collection<Long> tripIds);
+}
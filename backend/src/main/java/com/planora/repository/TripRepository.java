@@ -1,10 +1,16 @@
 package com.planora.repository;
 
 import com.planora.entity.Trip;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
@@ -14,4 +20,52 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
     List<Trip> findByStatus(String status);
 
     List<Trip> findByUserIdAndStatus(Long userId, String status);
+
+    @Query("SELECT t.userId AS userId, t.updatedAt AS updatedAt FROM Trip t WHERE t.id = :id")
+    Optional<TripVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(t) AS tripCount, MAX(t.updatedAt) AS lastUpdated FROM Trip t WHERE t.userId = :userId")
+    TripCollectionVersion findCollectionVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Keyset page of a user's trips, newest first. Rows strictly after the
+     * (cursorCreatedAt, cursorId) position are returned, so deep pages never
+     * scan skipped rows the way OFFSET does. Null filters are ignored.
+     */
+    @Query("SELECT t FROM Trip t WHERE t.userId = :userId"
+            + " AND (:status IS NULL OR t.status = :status)"
+            + " AND (:startDateFrom IS NULL OR t.startDate >= :startDateFrom)"
+            + " AND (:startDateTo IS NULL OR t.startDate <= :startDateTo)"
+            + " AND (:minBudget IS NULL OR t.totalBudget >= :minBudget)"
+            + " AND (:maxBudget IS NULL OR t.totalBudget <= :maxBudget)"
+            + " AND (:cursorCreatedAt IS NULL OR t.createdAt < :cursorCreatedAt"
+            + "      OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId))"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findPageByUserId(@Param("userId") Long userId,
+            @Param("status") String status,
+            @Param("startDateFrom") LocalDate startDateFrom,
+            @Param("startDateTo") LocalDate startDateTo,
+            @Param("minBudget") Double minBudget,
+            @Param("maxBudget") Double maxBudget,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /**
+     * Owner and last write time of a single trip, for conditional GETs
+     */
+    interface TripVersion {
+        Long getUserId();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Trip count and latest write time across a user's trips, for conditional GETs
+     */
+    interface TripCollectionVersion {
+        Long getTripCount();
+
+        LocalDateTime getLastUpdated();
+    }
 }
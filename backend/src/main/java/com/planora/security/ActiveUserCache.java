@@ -0,0 +1,42 @@
+package com.planora.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.planora.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Optional short-lived check that the user behind a JWT still exists, so
+ * deleted accounts lose access within the TTL instead of at token expiry.
+ * Disabled when jwt.user-check-ttl-ms is 0.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveUserCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${jwt.user-check-ttl-ms:0}")
+    private long userCheckTtlMs;
+
+    private LoadingCache<Long, Boolean> activeUsers;
+
+    @PostConstruct
+    void init() {
+        if (userCheckTtlMs > 0) {
+            activeUsers = Caffeine.newBuilder()
+                    .maximumSize(10_000)
+                    .expireAfterWrite(Duration.ofMillis(userCheckTtlMs))
+                    .build(userRepository::existsById);
+        }
+    }
+
+    public boolean isActive(Long userId) {
+        return activeUsers == null || activeUsers.get(userId);
+    }
+}
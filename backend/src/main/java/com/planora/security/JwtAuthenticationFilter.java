@@ -1,5 +1,8 @@
 package com.planora.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,31 +24,61 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final ActiveUserCache activeUserCache;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            outcome = authenticate(request);
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            sample.stop(Timer.builder("planora.security.jwt.filter")
+                    .description("Time spent authenticating the request from its JWT")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Populate the security context from the request's JWT, returning the
+     * outcome used to tag the filter timer
+     */
+    private String authenticate(HttpServletRequest request) {
+        String jwt = getJwtFromRequest(request);
+        if (!StringUtils.hasText(jwt)) {
+            return "anonymous";
+        }
+
+        Claims claims = tokenProvider.verifyToken(jwt);
+        if (claims == null) {
+            return "invalid";
+        }
+
+        UserDetails userDetails = tokenProvider.getPrincipalFromClaims(claims);
+        if (userDetails == null) {
+            // Token issued before id and role were embedded
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        } else if (!activeUserCache.isActive(((UserPrincipal) userDetails).getId())) {
+            return "inactive";
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return "authenticated";
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -32,7 +32,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Generate JWT token
-        String token = tokenProvider.generateTokenFromUsername(email);
+        String token = tokenProvider.generateTokenForUser(user.getId(), user.getEmail(), user.getRole());
 
         // Redirect to frontend with token
         String targetUrl = UriComponentsBuilder.fromUriString("http://localhost:5173/auth/google/callback")
@@ -0,0 +1,72 @@
+package com.planora.security;
+
+import com.planora.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authenticated user as seen by controllers. Built either from the users
+ * table at login or straight from JWT claims on every other request, so
+ * resolving identity does not require a database lookup.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String displayName;
+    private final String role;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, String displayName, String role, String password) {
+        this.id = id;
+        this.email = email;
+        this.displayName = displayName;
+        this.role = role;
+        this.password = password;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getRole(),
+                user.getPassword());
+    }
+
+    public static UserPrincipal fromToken(Long id, String email, String role) {
+        return new UserPrincipal(id, email, null, role, null);
+    }
+
+    /**
+     * Spring Security identifies users by email in this application
+     */
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package com.planora.service;
+
+import com.planora.entity.Activity;
+
+/**
+ * A catalog activity at the cost a provider offers for a trip
+ */
+public record ActivityOffer(Activity activity, double cost) {
+}
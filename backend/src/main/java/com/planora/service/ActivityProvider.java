@@ -0,0 +1,8 @@
+package com.planora.service;
+
+/**
+ * Activity inventory source. Offers must reference activity catalog entries,
+ * since trips store only the catalog id and the offered cost.
+ */
+public interface ActivityProvider extends RecommendationProvider<ActivityOffer> {
+}
@@ -6,6 +6,7 @@ import com.planora.dto.UserRegistrationDTO;
 import com.planora.entity.User;
 import com.planora.repository.UserRepository;
 import com.planora.security.JwtTokenProvider;
+import com.planora.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -45,7 +46,8 @@ public class AuthenticationService {
         User savedUser = userRepository.save(user);
 
         // Generate token
-        String token = tokenProvider.generateTokenFromUsername(savedUser.getEmail());
+        String token = tokenProvider.generateTokenForUser(savedUser.getId(), savedUser.getEmail(),
+                savedUser.getRole());
 
         return new AuthResponseDTO(
                 token,
@@ -62,16 +64,15 @@ public class AuthenticationService {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginDTO.getEmail(), loginDTO.getPassword()));
 
+        // The principal was loaded from the users table during authentication
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         String token = tokenProvider.generateToken(authentication);
 
-        User user = userRepository.findByEmail(loginDTO.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         return new AuthResponseDTO(
                 token,
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole());
+                principal.getId(),
+                principal.getDisplayName(),
+                principal.getEmail(),
+                principal.getRole());
     }
 }
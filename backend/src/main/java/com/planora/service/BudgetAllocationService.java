@@ -6,8 +6,18 @@ import com.planora.repository.BudgetAllocationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.planora.service.BudgetCategory.ACCOMMODATION;
+import static com.planora.service.BudgetCategory.ACTIVITIES;
+import static com.planora.service.BudgetCategory.FOOD;
+import static com.planora.service.BudgetCategory.TRAVEL;
 
 @Service
 @RequiredArgsConstructor
@@ -15,81 +25,223 @@ public class BudgetAllocationService {
 
     private final BudgetAllocationRepository budgetAllocationRepository;
 
-    // Budget allocation percentages for different plan types
-    private static final Map<String, Map<String, Double>> ALLOCATION_PERCENTAGES = new HashMap<>() {
-        {
-            put("BUDGET", Map.of(
-                    "travel", 0.40,
-                    "accommodation", 0.30,
-                    "food", 0.15,
-                    "activities", 0.15));
-            put("BALANCED", Map.of(
-                    "travel", 0.35,
-                    "accommodation", 0.35,
-                    "food", 0.15,
-                    "activities", 0.15));
-            put("COMFORT", Map.of(
-                    "travel", 0.25,
-                    "accommodation", 0.45,
-                    "food", 0.15,
-                    "activities", 0.15));
-        }
+    private static final int CATEGORIES = BudgetCategory.COUNT;
+
+    // Allocation ratios, one row per PlanType and one column per BudgetCategory, in ordinal order
+    private static final double[] RATIOS = {
+            // travel, accommodation, food, activities
+            0.40, 0.30, 0.15, 0.15, // BUDGET
+            0.35, 0.35, 0.15, 0.15, // BALANCED
+            0.25, 0.45, 0.15, 0.15, // COMFORT
     };
 
+    // The same table scaled to percentages for the budget breakdown
+    private static final double[] PERCENTAGES = new double[RATIOS.length];
+
+    // Immutable per-plan views of RATIOS for getAllocationPercentages
+    private static final Map<PlanType, Map<String, Double>> RATIO_MAPS = new EnumMap<>(PlanType.class);
+
+    static {
+        if (RATIOS.length != PlanType.values().length * CATEGORIES) {
+            throw new IllegalStateException("Allocation ratios do not cover every plan type and category");
+        }
+        for (int i = 0; i < RATIOS.length; i++) {
+            PERCENTAGES[i] = RATIOS[i] * 100;
+        }
+        for (PlanType planType : PlanType.values()) {
+            Map<String, Double> ratios = new LinkedHashMap<>();
+            for (BudgetCategory category : BudgetCategory.values()) {
+                ratios.put(category.getKey(), ratio(planType, category));
+            }
+            RATIO_MAPS.put(planType, Map.copyOf(ratios));
+        }
+    }
+
     /**
      * Calculate and save budget allocation for a trip
      */
     public BudgetAllocation calculateAndSaveBudgetAllocation(Long tripId, Double totalBudget, String planType) {
-        Map<String, Double> percentages = ALLOCATION_PERCENTAGES.get(planType);
+        return budgetAllocationRepository.save(calculateBudgetAllocation(tripId, totalBudget, planType));
+    }
 
-        if (percentages == null) {
-            throw new IllegalArgumentException("Invalid plan type: " + planType);
-        }
+    /**
+     * Save a budget allocation calculated earlier
+     */
+    public BudgetAllocation saveBudgetAllocation(BudgetAllocation allocation) {
+        return budgetAllocationRepository.save(allocation);
+    }
+
+    /**
+     * Calculate budget allocation for a trip without saving it
+     */
+    public BudgetAllocation calculateBudgetAllocation(Long tripId, Double totalBudget, String planType) {
+        int row = row(requirePlanType(planType));
+        double total = totalBudget;
 
         BudgetAllocation allocation = new BudgetAllocation();
         allocation.setTripId(tripId);
-        allocation.setTravelBudget(totalBudget * percentages.get("travel"));
-        allocation.setAccommodationBudget(totalBudget * percentages.get("accommodation"));
-        allocation.setFoodBudget(totalBudget * percentages.get("food"));
-        allocation.setActivitiesBudget(totalBudget * percentages.get("activities"));
-        allocation.setTotalAllocated(totalBudget);
+        allocation.setTravelBudget(total * RATIOS[row + TRAVEL.ordinal()]);
+        allocation.setAccommodationBudget(total * RATIOS[row + ACCOMMODATION.ordinal()]);
+        allocation.setFoodBudget(total * RATIOS[row + FOOD.ordinal()]);
+        allocation.setActivitiesBudget(total * RATIOS[row + ACTIVITIES.ordinal()]);
+        allocation.setTotalAllocated(total);
 
-        return budgetAllocationRepository.save(allocation);
+        return allocation;
     }
 
     /**
-     * Get budget allocation for a trip
+     * Allocation ratio of one category for a plan type
      */
-    public BudgetAllocation getBudgetAllocationByTripId(Long tripId) {
-        return budgetAllocationRepository.findByTripId(tripId)
-                .orElseThrow(() -> new RuntimeException("Budget allocation not found for trip: " + tripId));
+    public static double ratio(PlanType planType, BudgetCategory category) {
+        return RATIOS[row(planType) + category.ordinal()];
     }
 
     /**
-     * Convert BudgetAllocation entity to DTO with percentages
+     * Split one budget into its category amounts, written to
+     * out[offset .. offset + BudgetCategory.COUNT) in category ordinal order
+     */
+    public static void allocate(PlanType planType, double totalBudget, double[] out, int offset) {
+        int row = row(planType);
+        for (int category = 0; category < CATEGORIES; category++) {
+            out[offset + category] = totalBudget * RATIOS[row + category];
+        }
+    }
+
+    /**
+     * Split N budgets in one pass without per-trip objects. Trip i's amounts
+     * are written to out[i * BudgetCategory.COUNT ..] in category ordinal order.
+     */
+    public static void allocateAll(PlanType[] planTypes, double[] totalBudgets, double[] out) {
+        if (planTypes.length != totalBudgets.length) {
+            throw new IllegalArgumentException("Expected one plan type per budget, got "
+                    + planTypes.length + " plan types for " + totalBudgets.length + " budgets");
+        }
+        checkOutput(totalBudgets.length, out);
+        for (int i = 0; i < totalBudgets.length; i++) {
+            allocate(planTypes[i], totalBudgets[i], out, i * CATEGORIES);
+        }
+    }
+
+    /**
+     * Split N budgets under the same plan type in one pass, laid out as in
+     * {@link #allocateAll(PlanType[], double[], double[])}
+     */
+    public static void allocateAll(PlanType planType, double[] totalBudgets, double[] out) {
+        checkOutput(totalBudgets.length, out);
+        int row = row(planType);
+        for (int i = 0, offset = 0; i < totalBudgets.length; i++, offset += CATEGORIES) {
+            double total = totalBudgets[i];
+            for (int category = 0; category < CATEGORIES; category++) {
+                out[offset + category] = total * RATIOS[row + category];
+            }
+        }
+    }
+
+    /**
+     * Split budgets[from .. to) under one plan type into per-category columns:
+     * columns[category.ordinal()][i] receives that category's share of
+     * budgets[i]. Each column is a straight multiply loop the JIT can vectorize.
+     */
+    public static void allocateColumns(PlanType planType, double[] totalBudgets, int from, int to,
+            double[][] columns) {
+        int row = row(planType);
+        for (int category = 0; category < CATEGORIES; category++) {
+            double ratio = RATIOS[row + category];
+            double[] column = columns[category];
+            for (int i = from; i < to; i++) {
+                column[i] = totalBudgets[i] * ratio;
+            }
+        }
+    }
+
+    /**
+     * Get budget allocation for a trip, empty while its plan is still pending
+     */
+    public Optional<BudgetAllocation> findBudgetAllocationByTripId(Long tripId) {
+        return budgetAllocationRepository.findByTripId(tripId);
+    }
+
+    /**
+     * Get budget allocations for several trips in one query, keyed by trip ID
+     */
+    public Map<Long, BudgetAllocation> getBudgetAllocationsByTripIds(Collection<Long> tripIds) {
+        if (tripIds.isEmpty()) {
+            return Map.of();
+        }
+        return budgetAllocationRepository.findByTripIdIn(tripIds).stream()
+                .collect(Collectors.toMap(BudgetAllocation::getTripId, Function.identity()));
+    }
+
+    /**
+     * Convert BudgetAllocation entity to DTO, deriving the percentages from
+     * the stored amounts
      */
     public BudgetBreakdownDTO convertToDTO(BudgetAllocation allocation) {
+        BudgetBreakdownDTO dto = toDTO(allocation);
+
+        double scale = 100 / allocation.getTotalAllocated();
+        dto.setTravelPercentage(allocation.getTravelBudget() * scale);
+        dto.setAccommodationPercentage(allocation.getAccommodationBudget() * scale);
+        dto.setFoodPercentage(allocation.getFoodBudget() * scale);
+        dto.setActivitiesPercentage(allocation.getActivitiesBudget() * scale);
+
+        return dto;
+    }
+
+    /**
+     * Convert BudgetAllocation entity to DTO, taking the percentages straight
+     * from the table when the trip's plan type is known
+     */
+    public BudgetBreakdownDTO convertToDTO(BudgetAllocation allocation, String planType) {
+        PlanType type = PlanType.fromName(planType);
+        if (type == null) {
+            return convertToDTO(allocation);
+        }
+
+        BudgetBreakdownDTO dto = toDTO(allocation);
+        int row = row(type);
+        dto.setTravelPercentage(PERCENTAGES[row + TRAVEL.ordinal()]);
+        dto.setAccommodationPercentage(PERCENTAGES[row + ACCOMMODATION.ordinal()]);
+        dto.setFoodPercentage(PERCENTAGES[row + FOOD.ordinal()]);
+        dto.setActivitiesPercentage(PERCENTAGES[row + ACTIVITIES.ordinal()]);
+
+        return dto;
+    }
+
+    /**
+     * Get allocation percentages for a plan type (for transparency)
+     */
+    public Map<String, Double> getAllocationPercentages(String planType) {
+        PlanType type = PlanType.fromName(planType);
+        return type != null ? RATIO_MAPS.get(type) : null;
+    }
+
+    private static BudgetBreakdownDTO toDTO(BudgetAllocation allocation) {
         BudgetBreakdownDTO dto = new BudgetBreakdownDTO();
         dto.setTravelBudget(allocation.getTravelBudget());
         dto.setAccommodationBudget(allocation.getAccommodationBudget());
         dto.setFoodBudget(allocation.getFoodBudget());
         dto.setActivitiesBudget(allocation.getActivitiesBudget());
         dto.setTotalAllocated(allocation.getTotalAllocated());
+        return dto;
+    }
 
-        // Calculate percentages
-        double total = allocation.getTotalAllocated();
-        dto.setTravelPercentage((allocation.getTravelBudget() / total) * 100);
-        dto.setAccommodationPercentage((allocation.getAccommodationBudget() / total) * 100);
-        dto.setFoodPercentage((allocation.getFoodBudget() / total) * 100);
-        dto.setActivitiesPercentage((allocation.getActivitiesBudget() / total) * 100);
+    private static PlanType requirePlanType(String planType) {
+        PlanType type = PlanType.fromName(planType);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid plan type: " + planType);
+        }
+        return type;
+    }
 
-        return dto;
+    private static int row(PlanType planType) {
+        return planType.ordinal() * CATEGORIES;
     }
 
-    /**
-     * Get allocation percentages for a plan type (for transparency)
-     */
-    public Map<String, Double> getAllocationPercentages(String planType) {
-        return ALLOCATION_PERCENTAGES.get(planType);
+    private static void checkOutput(int budgets, double[] out) {
+        if (out.length < budgets * CATEGORIES) {
+            throw new IllegalArgumentException("Output needs " + budgets * CATEGORIES
+                    + " slots for " + budgets + " budgets, got " + out.length);
+        }
     }
 }
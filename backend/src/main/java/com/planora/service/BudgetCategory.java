@@ -0,0 +1,27 @@
+package com.planora.service;
+
+/**
+ * Categories a trip budget is split into. The ordinal is the offset of the
+ * category's amount in the arrays written by BudgetAllocationService.
+ */
+public enum BudgetCategory {
+    TRAVEL("travel"),
+    ACCOMMODATION("accommodation"),
+    FOOD("food"),
+    ACTIVITIES("activities");
+
+    public static final int COUNT = values().length;
+
+    private final String key;
+
+    BudgetCategory(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Key used in the allocation percentage maps
+     */
+    public String getKey() {
+        return key;
+    }
+}
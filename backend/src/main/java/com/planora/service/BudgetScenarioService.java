@@ -0,0 +1,125 @@
+package com.planora.service;
+
+import com.planora.dto.BudgetScenarioDTO;
+import com.planora.dto.BudgetScenarioRequestDTO;
+import com.planora.dto.PlanScenarioDTO;
+import com.planora.entity.Destination;
+import com.planora.exception.InvalidBudgetException;
+import com.planora.exception.InvalidRequestException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only what-if sweeps over budgets and plan types. Results are computed
+ * into primitive columns straight from the allocation table and the
+ * destination index; nothing is persisted and no entities are created.
+ */
+@Service
+@RequiredArgsConstructor
+public class BudgetScenarioService {
+
+    public static final int MAX_BUDGET_POINTS = 20_000;
+
+    // Budgets per parallel chunk; smaller sweeps run on the calling thread
+    private static final int CHUNK_SIZE = 2_048;
+
+    private final DestinationIndex destinationIndex;
+
+    /**
+     * Allocate every budget from minBudget to maxBudget in steps of step,
+     * under each requested plan type, and match each budget and plan type to
+     * the destination trip planning would pick for it
+     */
+    @Timed(value = "planora.trips.scenarios", percentiles = {0.5, 0.95, 0.99})
+    public BudgetScenarioDTO sweep(BudgetScenarioRequestDTO request) {
+        double min = request.getMinBudget();
+        double max = request.getMaxBudget();
+        double step = request.getStep();
+        int days = request.getNumberOfDays();
+
+        if (min > max) {
+            throw new InvalidBudgetException("Minimum budget must not exceed maximum budget");
+        }
+        // Tolerate rounding so that a maximum on the step grid is included
+        double steps = Math.floor((max - min) / step + 1e-9);
+        if (steps + 1 > MAX_BUDGET_POINTS) {
+            throw new InvalidRequestException("A sweep may cover at most " + MAX_BUDGET_POINTS + " budgets");
+        }
+        int count = (int) steps + 1;
+        PlanType[] planTypes = resolvePlanTypes(request.getPlanTypes());
+        TravelType travelType = TravelType.fromName(request.getTravelType());
+
+        double[] budgets = new double[count];
+        double[] maxDestinationCosts = new double[count];
+        Destination[][] destinations = new Destination[planTypes.length][count];
+        double[][][] columns = new double[planTypes.length][BudgetCategory.COUNT][count];
+
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        // Chunks write disjoint index ranges of the shared arrays
+        chunkIndexes.forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, count);
+            for (int i = from; i < to; i++) {
+                // Multiply rather than accumulate so the grid does not drift
+                budgets[i] = min + i * step;
+                maxDestinationCosts[i] = budgets[i] / days * TripPlanningService.DESTINATION_BUDGET_SHARE;
+            }
+            for (int p = 0; p < planTypes.length; p++) {
+                destinationIndex.findBest(maxDestinationCosts, from, to, planTypes[p], travelType, destinations[p]);
+                BudgetAllocationService.allocateColumns(planTypes[p], budgets, from, to, columns[p]);
+            }
+        });
+
+        List<PlanScenarioDTO> plans = new ArrayList<>(planTypes.length);
+        for (int p = 0; p < planTypes.length; p++) {
+            Long[] destinationIds = new Long[count];
+            String[] destinationNames = new String[count];
+            for (int i = 0; i < count; i++) {
+                Destination destination = destinations[p][i];
+                if (destination != null) {
+                    destinationIds[i] = destination.getId();
+                    destinationNames[i] = destination.getName();
+                }
+            }
+
+            double[][] planColumns = columns[p];
+            plans.add(new PlanScenarioDTO(
+                    planTypes[p].name(),
+                    destinationIds,
+                    destinationNames,
+                    planColumns[BudgetCategory.TRAVEL.ordinal()],
+                    planColumns[BudgetCategory.ACCOMMODATION.ordinal()],
+                    planColumns[BudgetCategory.FOOD.ordinal()],
+                    planColumns[BudgetCategory.ACTIVITIES.ordinal()]));
+        }
+
+        return new BudgetScenarioDTO(days, budgets, plans);
+    }
+
+    private static PlanType[] resolvePlanTypes(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return PlanType.values();
+        }
+        // Deduplicate and keep the enum order
+        Set<PlanType> planTypes = EnumSet.noneOf(PlanType.class);
+        for (String name : names) {
+            PlanType planType = PlanType.fromName(name);
+            if (planType == null) {
+                throw new InvalidRequestException("Invalid plan type: " + name);
+            }
+            planTypes.add(planType);
+        }
+        return planTypes.toArray(new PlanType[0]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.planora.service;
+
+import com.planora.entity.Activity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local provider offering every catalog activity at its share of the trip's
+ * activities budget. Answers from memory.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class CatalogActivityProvider implements ActivityProvider {
+
+    private final RecommendationCatalog recommendationCatalog;
+
+    @Override
+    public String getName() {
+        return "catalog-activities";
+    }
+
+    @Override
+    public List<ActivityOffer> recommend(RecommendationQuery query) {
+        double activityBudget = query.budgetAllocation().getActivitiesBudget();
+
+        List<Activity> catalog = recommendationCatalog.getActivities();
+        List<ActivityOffer> offers = new ArrayList<>(catalog.size());
+        for (Activity activity : catalog) {
+            offers.add(new ActivityOffer(activity, activityBudget * activity.getCostShare()));
+        }
+        return offers;
+    }
+}
@@ -0,0 +1,39 @@
+package com.planora.service;
+
+import com.planora.entity.Hotel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local provider offering every catalog hotel at its share of the trip's
+ * nightly accommodation budget. Answers from memory.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class CatalogHotelProvider implements HotelProvider {
+
+    private final RecommendationCatalog recommendationCatalog;
+
+    @Override
+    public String getName() {
+        return "catalog-hotels";
+    }
+
+    @Override
+    public List<HotelOffer> recommend(RecommendationQuery query) {
+        double maxPricePerNight = query.budgetAllocation().getAccommodationBudget()
+                / query.trip().getNumberOfDays();
+
+        List<Hotel> catalog = recommendationCatalog.getHotels();
+        List<HotelOffer> offers = new ArrayList<>(catalog.size());
+        for (Hotel hotel : catalog) {
+            offers.add(new HotelOffer(hotel, maxPricePerNight * hotel.getPriceShare()));
+        }
+        return offers;
+    }
+}
@@ -0,0 +1,64 @@
+package com.planora.service;
+
+import com.planora.dto.DestinationDTO;
+import com.planora.dto.DestinationSearchDTO;
+import com.planora.entity.Destination;
+import com.planora.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Public destination catalog, served from the in-memory destination index
+ * without touching the database
+ */
+@Service
+@RequiredArgsConstructor
+public class DestinationCatalogService {
+
+    private final DestinationIndex destinationIndex;
+
+    /**
+     * Search and filter the catalog
+     */
+    @Timed(value = "planora.destinations.search", percentiles = {0.5, 0.95, 0.99})
+    public List<DestinationDTO> search(DestinationSearchDTO query) {
+        return destinationIndex.search(query).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get one destination by ID
+     */
+    public DestinationDTO getDestination(Long id) {
+        Destination destination = destinationIndex.findById(id);
+        if (destination == null) {
+            throw new ResourceNotFoundException("Destination", "id", id);
+        }
+        return convertToDTO(destination);
+    }
+
+    /**
+     * Validators shared by every catalog response
+     */
+    public ResourceVersion getVersion() {
+        return destinationIndex.getVersion();
+    }
+
+    private DestinationDTO convertToDTO(Destination destination) {
+        return new DestinationDTO(
+                destination.getId(),
+                destination.getName(),
+                destination.getCountry(),
+                destination.getDescription(),
+                destination.getAverageCost(),
+                destination.getPopularityScore(),
+                destination.getImageUrl(),
+                destination.getLatitude(),
+                destination.getLongitude());
+    }
+}
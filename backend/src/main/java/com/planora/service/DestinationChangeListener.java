@@ -0,0 +1,40 @@
+package com.planora.service;
+
+import com.planora.entity.Destination;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that rebuilds the {@link DestinationIndex} after a destination
+ * write commits. The index is looked up lazily because the listener is
+ * created while the entity manager factory (which the index depends on) is
+ * still being built.
+ */
+@Component
+@RequiredArgsConstructor
+public class DestinationChangeListener {
+
+    private final ObjectProvider<DestinationIndex> destinationIndex;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Destination destination) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    destinationIndex.getObject().refresh();
+                }
+            });
+        } else {
+            destinationIndex.getObject().refresh();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.planora.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fills in route-planning coordinates for the sample destinations on
+ * deployments that created them before the latitude and longitude columns
+ * existed, or that skip data.sql. Runs on startup before the
+ * {@link DestinationIndex} is first built, and only sets coordinates that
+ * are still missing, so edited values are kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DestinationCoordinatesSeeder implements ApplicationRunner {
+
+    private static final String UPDATE_COORDINATES = "UPDATE destinations SET latitude = ?, longitude = ?"
+            + " WHERE name = ? AND latitude IS NULL AND longitude IS NULL";
+
+    // Latitude, longitude and name, matching the values in data.sql
+    private static final List<Object[]> KNOWN_COORDINATES = List.of(
+            new Object[]{15.2993, 74.1240, "Goa"},
+            new Object[]{26.9124, 75.7873, "Jaipur"},
+            new Object[]{9.9312, 76.2673, "Kerala"},
+            new Object[]{32.2432, 77.1892, "Manali"},
+            new Object[]{24.5854, 73.7125, "Udaipur"},
+            new Object[]{30.0869, 78.2676, "Rishikesh"},
+            new Object[]{25.3176, 82.9739, "Varanasi"},
+            new Object[]{27.0410, 88.2663, "Darjeeling"});
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = Arrays.stream(jdbcTemplate.batchUpdate(UPDATE_COORDINATES, KNOWN_COORDINATES)).sum();
+        if (updated > 0) {
+            log.info("Filled in coordinates for {} destinations", updated);
+        }
+    }
+}
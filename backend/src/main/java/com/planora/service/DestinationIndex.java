@@ -0,0 +1,346 @@
+package com.planora.service;
+
+import com.planora.dto.DestinationSearchDTO;
+import com.planora.entity.Destination;
+import com.planora.repository.DestinationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Read-mostly in-memory index of destinations sorted by average cost, with
+ * popularity as the tie-breaker. Lookups run against an immutable snapshot
+ * that is swapped atomically whenever the destinations table changes. The
+ * snapshot also carries the catalog's text index, its popularity and name
+ * orderings, popularity scaled for ranking, and a content hash used as the
+ * catalog ETag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DestinationIndex {
+
+    private static final Comparator<Destination> COST_THEN_POPULARITY = Comparator
+            .comparingDouble(Destination::getAverageCost)
+            .thenComparingInt(DestinationIndex::popularityOf)
+            .thenComparing(Destination::getId, Comparator.reverseOrder());
+
+    // Share of the score given to cost headroom per PlanType ordinal; popularity gets the rest
+    private static final double[] PLAN_HEADROOM_WEIGHTS = {0.6, 0.4, 0.2};
+    // Added to the plan weight per TravelType ordinal
+    private static final double[] TRAVEL_HEADROOM_WEIGHTS = {0.0, 0.05, 0.15};
+
+    private final DestinationRepository destinationRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(new Destination[0], null);
+
+    /**
+     * Reload the index from the database and publish it in one step
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${planora.destinations.refresh-interval-ms:300000}",
+            initialDelayString = "${planora.destinations.refresh-interval-ms:300000}")
+    public void refresh() {
+        List<Destination> destinations = destinationRepository.findAll();
+        destinations.sort(COST_THEN_POPULARITY);
+
+        Destination[] sorted = destinations.toArray(new Destination[0]);
+        snapshot = Snapshot.of(sorted, snapshot.version());
+        log.debug("Destination index rebuilt with {} destinations, version {}",
+                sorted.length, snapshot.version().eTag());
+    }
+
+    /**
+     * The k best destinations whose average cost does not exceed maxCost,
+     * best first. Each affordable destination is scored for value for budget
+     * and the top k are kept in a bounded min-heap, so a
+     * request costs O(n log k) over the affordable prefix of the cost-sorted
+     * snapshot and allocates nothing per candidate.
+     */
+    public List<RankedDestination> rank(double maxCost, PlanType planType, TravelType travelType, int k) {
+        Snapshot current = snapshot;
+        int affordable = upperBound(current.costs(), maxCost);
+        int size = Math.min(k, affordable);
+        if (size <= 0) {
+            return List.of();
+        }
+
+        double headroomWeight = headroomWeight(planType, travelType);
+        int[] heap = new int[size];
+        double[] heapScores = new double[size];
+        int count = 0;
+        for (int i = 0; i < affordable; i++) {
+            double score = score(current, i, maxCost, headroomWeight);
+            if (count < size) {
+                heap[count] = i;
+                heapScores[count] = score;
+                siftUp(heap, heapScores, count++);
+            } else if (outranks(score, i, heapScores[0], heap[0])) {
+                heap[0] = i;
+                heapScores[0] = score;
+                siftDown(heap, heapScores, size);
+            }
+        }
+
+        // Popping the weakest entry each time fills the result from the back
+        RankedDestination[] ranked = new RankedDestination[size];
+        for (int last = size - 1; last >= 0; last--) {
+            ranked[last] = new RankedDestination(current.destinations()[heap[0]], heapScores[0]);
+            heap[0] = heap[last];
+            heapScores[0] = heapScores[last];
+            siftDown(heap, heapScores, last);
+        }
+        return List.of(ranked);
+    }
+
+    /**
+     * Top-ranked destination for maxCost, or null when nothing is affordable
+     */
+    public Destination findBest(double maxCost, PlanType planType, TravelType travelType) {
+        List<RankedDestination> ranked = rank(maxCost, planType, travelType, 1);
+        return ranked.isEmpty() ? null : ranked.get(0).destination();
+    }
+
+    /**
+     * Batch form of {@link #findBest}: out[i] receives the top-ranked
+     * destination for maxCosts[i], for every i in [from, to). The whole range
+     * is answered from one snapshot.
+     */
+    public void findBest(double[] maxCosts, int from, int to, PlanType planType, TravelType travelType,
+            Destination[] out) {
+        Snapshot current = snapshot;
+        double headroomWeight = headroomWeight(planType, travelType);
+        for (int i = from; i < to; i++) {
+            int affordable = upperBound(current.costs(), maxCosts[i]);
+            int best = -1;
+            double bestScore = 0;
+            for (int j = 0; j < affordable; j++) {
+                double score = score(current, j, maxCosts[i], headroomWeight);
+                if (best < 0 || outranks(score, j, bestScore, best)) {
+                    best = j;
+                    bestScore = score;
+                }
+            }
+            out[i] = best >= 0 ? current.destinations()[best] : null;
+        }
+    }
+
+    /**
+     * Destination with the given id, or null if it is not indexed
+     */
+    public Destination findById(Long id) {
+        return snapshot.byId().get(id);
+    }
+
+    /**
+     * All destinations, cheapest first
+     */
+    public List<Destination> getAll() {
+        return List.of(snapshot.destinations());
+    }
+
+    /**
+     * Catalog search: destinations matching the text and keyword queries and
+     * the cost and popularity bounds, in the requested order, at most limit
+     * of them. Runs entirely against the snapshot; orderings are precomputed,
+     * so nothing is sorted per request.
+     */
+    public List<Destination> search(DestinationSearchDTO query) {
+        Snapshot current = snapshot;
+        BitSet matches = current.search().matchPrefix(query.getQ());
+        if (!matches.isEmpty()) {
+            matches.and(current.search().matchKeywords(query.getKeyword()));
+        }
+
+        String sort = query.getSort() != null ? query.getSort() : "popularity";
+        boolean descending = query.getDirection() != null
+                ? query.getDirection().equals("desc")
+                : sort.equals("popularity");
+        int[] order = switch (sort) {
+            case "cost" -> current.byCost();
+            case "name" -> current.byName();
+            default -> current.byPopularity();
+        };
+
+        double minCost = query.getMinCost() != null ? query.getMinCost() : Double.NEGATIVE_INFINITY;
+        double maxCost = query.getMaxCost() != null ? query.getMaxCost() : Double.POSITIVE_INFINITY;
+        int minPopularity = query.getMinPopularity() != null ? query.getMinPopularity() : Integer.MIN_VALUE;
+        int limit = query.getLimit() != null ? query.getLimit() : Integer.MAX_VALUE;
+
+        List<Destination> results = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (int i = 0; i < order.length && results.size() < limit; i++) {
+            int position = order[descending ? order.length - 1 - i : i];
+            double cost = current.costs()[position];
+            Destination destination = current.destinations()[position];
+            if (matches.get(position) && cost >= minCost && cost <= maxCost
+                    && popularityOf(destination) >= minPopularity) {
+                results.add(destination);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Validators for the catalog: a hash of every indexed destination, so it
+     * is the same on every node and across restarts until the data changes,
+     * and the time this node first saw the current data
+     */
+    public ResourceVersion getVersion() {
+        return snapshot.version();
+    }
+
+    /**
+     * Index of the first cost strictly greater than value
+     */
+    private static int upperBound(double[] costs, double value) {
+        int low = 0;
+        int high = costs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (costs[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Value for budget of the destination at position: a blend of its cost
+     * headroom, the share of maxCost left over, and its popularity relative
+     * to the most popular destination. Both terms and the score lie in [0, 1].
+     */
+    private static double score(Snapshot current, int position, double maxCost, double headroomWeight) {
+        double headroom = maxCost > 0 ? (maxCost - current.costs()[position]) / maxCost : 0;
+        return headroomWeight * headroom + (1 - headroomWeight) * current.popularityShares()[position];
+    }
+
+    /**
+     * Weight of cost headroom in the score. Budget plans and larger parties
+     * care more about leaving room under the per-day limit; comfort plans
+     * lean on popularity. Unknown plan types score like BALANCED.
+     */
+    static double headroomWeight(PlanType planType, TravelType travelType) {
+        double weight = PLAN_HEADROOM_WEIGHTS[(planType != null ? planType : PlanType.BALANCED).ordinal()];
+        return travelType != null ? weight + TRAVEL_HEADROOM_WEIGHTS[travelType.ordinal()] : weight;
+    }
+
+    /**
+     * Whether (score, position) ranks above (otherScore, otherPosition);
+     * equal scores go to the later, pricier or more popular, position
+     */
+    private static boolean outranks(double score, int position, double otherScore, int otherPosition) {
+        return score > otherScore || (score == otherScore && position > otherPosition);
+    }
+
+    private static void siftUp(int[] heap, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!outranks(scores[parent], heap[parent], scores[index], heap[index])) {
+                break;
+            }
+            swap(heap, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, double[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int weakest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && outranks(scores[weakest], heap[weakest], scores[left], heap[left])) {
+                weakest = left;
+            }
+            if (right < size && outranks(scores[weakest], heap[weakest], scores[right], heap[right])) {
+                weakest = right;
+            }
+            if (weakest == index) {
+                return;
+            }
+            swap(heap, scores, weakest, index);
+            index = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, double[] scores, int i, int j) {
+        int position = heap[i];
+        heap[i] = heap[j];
+        heap[j] = position;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    private static int popularityOf(Destination destination) {
+        return destination.getPopularityScore() != null ? destination.getPopularityScore() : 0;
+    }
+
+    /**
+     * Destinations sorted by COST_THEN_POPULARITY, with the derived lookups.
+     * byCost, byPopularity and byName hold positions in ascending order of
+     * their key.
+     */
+    private record Snapshot(Destination[] destinations, double[] costs, double[] popularityShares,
+            Map<Long, Destination> byId,
+            DestinationSearchIndex search, int[] byCost, int[] byPopularity, int[] byName,
+            ResourceVersion version) {
+
+        static Snapshot of(Destination[] sorted, ResourceVersion previous) {
+            double[] costs = new double[sorted.length];
+            double[] popularityShares = new double[sorted.length];
+            int maxPopularity = 0;
+            Map<Long, Destination> byId = new HashMap<>();
+            List<Object> versionParts = new ArrayList<>();
+            for (int i = 0; i < sorted.length; i++) {
+                Destination destination = sorted[i];
+                costs[i] = destination.getAverageCost();
+                maxPopularity = Math.max(maxPopularity, popularityOf(destination));
+                byId.put(destination.getId(), destination);
+                versionParts.add(destination.getId());
+                versionParts.add(destination.getName());
+                versionParts.add(destination.getCountry());
+                versionParts.add(destination.getDescription());
+                versionParts.add(destination.getAverageCost());
+                versionParts.add(destination.getPopularityScore());
+                versionParts.add(destination.getImageUrl());
+                versionParts.add(destination.getLatitude());
+                versionParts.add(destination.getLongitude());
+            }
+
+            for (int i = 0; i < sorted.length && maxPopularity > 0; i++) {
+                popularityShares[i] = (double) popularityOf(sorted[i]) / maxPopularity;
+            }
+
+            int[] byCost = IntStream.range(0, sorted.length).toArray();
+            // Reversed for the default descending sort, this puts the cheaper of equally popular places first
+            int[] byPopularity = IntStream.range(0, sorted.length).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(i -> popularityOf(sorted[i]))
+                            .thenComparing(i -> costs[i], Comparator.reverseOrder()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int[] byName = IntStream.range(0, sorted.length).boxed()
+                    .sorted(Comparator.<Integer, String>comparing(i -> sorted[i].getName(),
+                            String.CASE_INSENSITIVE_ORDER).thenComparing(i -> sorted[i].getId()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            return new Snapshot(sorted, costs, popularityShares, byId, DestinationSearchIndex.build(sorted),
+                    byCost, byPopularity, byName,
+                    ResourceVersion.next(previous, ResourceVersion.strongETag(versionParts.toArray())));
+        }
+    }
+}
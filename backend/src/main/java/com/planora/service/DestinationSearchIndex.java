@@ -0,0 +1,142 @@
+package com.planora.service;
+
+import com.planora.entity.Destination;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable text index over a fixed array of destinations, addressed by
+ * position in that array. Name and country words are kept in a sorted term
+ * dictionary so a prefix resolves to a contiguous range of terms with two
+ * binary searches; description words go into a hash-based inverted index for
+ * whole-word keyword matches. Both are built once per destination snapshot.
+ */
+final class DestinationSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int[] NO_POSTINGS = new int[0];
+
+    // Sorted name and country terms, each with the sorted positions of the destinations containing it
+    private final String[] prefixTerms;
+    private final int[][] prefixPostings;
+
+    private final Map<String, int[]> descriptionPostings;
+    private final int size;
+
+    private DestinationSearchIndex(String[] prefixTerms, int[][] prefixPostings,
+            Map<String, int[]> descriptionPostings, int size) {
+        this.prefixTerms = prefixTerms;
+        this.prefixPostings = prefixPostings;
+        this.descriptionPostings = descriptionPostings;
+        this.size = size;
+    }
+
+    static DestinationSearchIndex build(Destination[] destinations) {
+        TreeMap<String, BitSet> prefixTerms = new TreeMap<>();
+        Map<String, BitSet> descriptionTerms = new HashMap<>();
+        for (int i = 0; i < destinations.length; i++) {
+            Destination destination = destinations[i];
+            for (String term : tokenize(destination.getName())) {
+                prefixTerms.computeIfAbsent(term, t -> new BitSet()).set(i);
+            }
+            for (String term : tokenize(destination.getCountry())) {
+                prefixTerms.computeIfAbsent(term, t -> new BitSet()).set(i);
+            }
+            for (String term : tokenize(destination.getDescription())) {
+                descriptionTerms.computeIfAbsent(term, t -> new BitSet()).set(i);
+            }
+        }
+
+        String[] terms = prefixTerms.keySet().toArray(new String[0]);
+        int[][] postings = prefixTerms.values().stream().map(BitSet::stream).map(s -> s.toArray())
+                .toArray(int[][]::new);
+
+        Map<String, int[]> description = new HashMap<>(descriptionTerms.size() * 2);
+        descriptionTerms.forEach((term, positions) -> description.put(term, positions.stream().toArray()));
+
+        return new DestinationSearchIndex(terms, postings, Map.copyOf(description), destinations.length);
+    }
+
+    /**
+     * Positions whose name or country has a word starting with every word of
+     * the query, so "ne de" finds "New Delhi". A blank query matches everything.
+     */
+    BitSet matchPrefix(String query) {
+        BitSet matches = all();
+        for (String prefix : tokenize(query)) {
+            BitSet termMatches = new BitSet(size);
+            int from = lowerBound(prefix);
+            for (int i = from; i < prefixTerms.length && prefixTerms[i].startsWith(prefix); i++) {
+                for (int position : prefixPostings[i]) {
+                    termMatches.set(position);
+                }
+            }
+            matches.and(termMatches);
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Positions whose description contains every word of the keywords as a
+     * whole word. Blank keywords match everything.
+     */
+    BitSet matchKeywords(String keywords) {
+        BitSet matches = all();
+        for (String keyword : tokenize(keywords)) {
+            BitSet termMatches = new BitSet(size);
+            for (int position : descriptionPostings.getOrDefault(keyword, NO_POSTINGS)) {
+                termMatches.set(position);
+            }
+            matches.and(termMatches);
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lower-cased, accent-free words of the text
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+
+    /**
+     * Index of the first term not less than prefix
+     */
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(prefixTerms, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+}
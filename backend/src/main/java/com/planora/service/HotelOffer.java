@@ -0,0 +1,9 @@
+package com.planora.service;
+
+import com.planora.entity.Hotel;
+
+/**
+ * A catalog hotel at the nightly price a provider offers for a trip
+ */
+public record HotelOffer(Hotel hotel, double pricePerNight) {
+}
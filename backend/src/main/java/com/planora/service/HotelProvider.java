@@ -0,0 +1,8 @@
+package com.planora.service;
+
+/**
+ * Hotel inventory source. Offers must reference hotel catalog entries, since
+ * trips store only the catalog id and the offered price.
+ */
+public interface HotelProvider extends RecommendationProvider<HotelOffer> {
+}
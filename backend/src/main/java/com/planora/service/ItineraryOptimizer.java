@@ -0,0 +1,310 @@
+package com.planora.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks activities from a candidate pool and schedules them across the days
+ * of a trip. The plan maximizes hours of activities plus a bonus for every
+ * category it covers, subject to the activities budget, a daily hour limit
+ * and at most one activity per category on any day.
+ * <p>
+ * The solver is a depth-first branch and bound over candidates ordered by
+ * value per unit of cost, working entirely on primitive arrays. Each
+ * candidate is tried on every day it fits, tightest fit first, and left out
+ * last; empty days are interchangeable, so only one of them is tried. The
+ * first dive is therefore the greedy plan and a result is always available.
+ * The search then improves on it, pruning with a fractional-knapsack bound
+ * on the remaining budget, until the time budget runs out or the tree is
+ * exhausted, in which case the plan is optimal.
+ */
+@Component
+public class ItineraryOptimizer {
+
+    // How often, in search nodes, the deadline is checked
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    // Tolerance for budgets filled exactly by a sum of shares
+    private static final double BUDGET_EPSILON = 1e-9;
+
+    private final int dailyHours;
+    private final double categoryBonusHours;
+    private final long timeBudgetNanos;
+    private final int poolSize;
+
+    public ItineraryOptimizer(@Value("${planora.itinerary.daily-hours:8}") int dailyHours,
+            @Value("${planora.itinerary.category-bonus-hours:2}") double categoryBonusHours,
+            @Value("${planora.itinerary.time-budget:PT0.015S}") Duration timeBudget,
+            @Value("${planora.itinerary.pool-size:500}") int poolSize) {
+        this.dailyHours = dailyHours;
+        this.categoryBonusHours = categoryBonusHours;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * How many candidate activities to gather for one schedule
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Schedule the candidates. costs, hours and categories are aligned per
+     * candidate; a null category is a category of its own. Returns, for each
+     * candidate, the 1-based day it is scheduled on, or 0 if it is left out.
+     */
+    public int[] schedule(double[] costs, int[] hours, String[] categories, double budget, int numberOfDays) {
+        return new Search(costs, hours, categories, budget, Math.max(1, numberOfDays)).run();
+    }
+
+    /**
+     * State of one solve. Candidates are renumbered in search order; the
+     * arrays below are indexed by that order unless noted.
+     */
+    private final class Search {
+
+        private final int inputLength;
+        private final int count;
+        private final int days;
+        private final int[] candidate;      // search position -> input index
+        private final double[] cost;
+        private final int[] hour;
+        private final int[] category;
+        private final int categoryCount;
+        private final long deadline;
+
+        // Current partial plan
+        private final int[] day;            // 1-based day per search position, 0 when left out
+        private final int[] hoursLeft;      // per day
+        private final int[] placedOnDay;    // activities per day
+        private final boolean[] categoryUsedOnDay;  // day * categoryCount + category
+        private final int[] categoryUses;   // per category, across the trip
+        private double budgetLeft;
+        private int hoursLeftTotal;
+        private int unusedCategories;
+        private double value;
+
+        // Best complete plan so far
+        private final int[] bestDay;
+        private double bestValue = -1;
+
+        private long nodes;
+        private boolean outOfTime;
+
+        Search(double[] costs, int[] hours, String[] categories, double budget, int days) {
+            this.deadline = System.nanoTime() + timeBudgetNanos;
+            this.inputLength = costs.length;
+            this.days = days;
+
+            // Drop what can never be scheduled, then order by optimistic value per unit of cost
+            Map<String, Integer> categoryIds = new HashMap<>();
+            int[] categoryOf = new int[costs.length];
+            double[] densities = new double[costs.length];
+            int[] order = new int[costs.length];
+            int kept = 0;
+            for (int i = 0; i < costs.length; i++) {
+                categoryOf[i] = categoryIds.computeIfAbsent(categories[i] != null ? categories[i] : "\0" + i,
+                        c -> categoryIds.size());
+                densities[i] = density(costs[i], hours[i]);
+                if (costs[i] <= budget + BUDGET_EPSILON && hours[i] <= dailyHours) {
+                    order[kept++] = i;
+                }
+            }
+            int[] sorted = Arrays.copyOf(order, kept);
+            sortByDescendingKey(sorted, densities);
+
+            this.count = kept;
+            this.candidate = new int[kept];
+            this.cost = new double[kept];
+            this.hour = new int[kept];
+            this.category = new int[kept];
+            for (int p = 0; p < kept; p++) {
+                int i = sorted[p];
+                candidate[p] = i;
+                cost[p] = costs[i];
+                hour[p] = hours[i];
+                category[p] = categoryOf[i];
+            }
+            this.categoryCount = categoryIds.size();
+
+            this.day = new int[kept];
+            this.bestDay = new int[kept];
+            this.hoursLeft = new int[days];
+            Arrays.fill(hoursLeft, dailyHours);
+            this.placedOnDay = new int[days];
+            this.categoryUsedOnDay = new boolean[days * categoryCount];
+            this.categoryUses = new int[categoryCount];
+            this.budgetLeft = budget + BUDGET_EPSILON;
+            this.hoursLeftTotal = days * dailyHours;
+            this.unusedCategories = categoryCount;
+        }
+
+        private double density(double cost, int hours) {
+            double optimisticValue = hours + categoryBonusHours;
+            return cost > 0 ? optimisticValue / cost : Double.POSITIVE_INFINITY;
+        }
+
+        int[] run() {
+            search(0);
+            int[] result = new int[inputLength];
+            for (int p = 0; p < count; p++) {
+                result[candidate[p]] = bestDay[p];
+            }
+            return result;
+        }
+
+        private void search(int position) {
+            if (outOfTime) {
+                return;
+            }
+            if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline && bestValue >= 0) {
+                outOfTime = true;
+                return;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                System.arraycopy(day, 0, bestDay, 0, count);
+            }
+            if (position == count || bound(position) <= bestValue) {
+                return;
+            }
+
+            // Take the candidate on its best-fit day first, so the first dive is the greedy plan
+            int first = bestFitDay(position);
+            if (first >= 0) {
+                boolean emptyDayTried = placedOnDay[first] == 0;
+                branch(position, first);
+                for (int d = 0; d < days && !outOfTime; d++) {
+                    if (d == first || !fits(position, d)) {
+                        continue;
+                    }
+                    // Empty days only differ by their number, so one of them covers them all
+                    if (placedOnDay[d] == 0) {
+                        if (emptyDayTried) {
+                            continue;
+                        }
+                        emptyDayTried = true;
+                    }
+                    branch(position, d);
+                }
+            }
+            search(position + 1);
+        }
+
+        private void branch(int position, int slot) {
+            place(position, slot);
+            search(position + 1);
+            unplace(position, slot);
+        }
+
+        /**
+         * Optimistic value reachable from here: the current value plus a
+         * fractional knapsack over the remaining candidates, capped by the
+         * hours still free and the categories still unused
+         */
+        private double bound(int position) {
+            double room = budgetLeft;
+            double gain = 0;
+            for (int p = position; p < count && room > 0; p++) {
+                double optimisticValue = hour[p] + categoryBonusHours;
+                if (cost[p] <= room) {
+                    room -= cost[p];
+                    gain += optimisticValue;
+                } else {
+                    gain += optimisticValue * room / cost[p];
+                    room = 0;
+                }
+            }
+            return value + Math.min(gain, hoursLeftTotal + unusedCategories * categoryBonusHours);
+        }
+
+        /**
+         * Day whose free hours fit the candidate most tightly among those
+         * without its category yet, or -1 when it fits nowhere or is over budget
+         */
+        private int bestFitDay(int position) {
+            if (cost[position] > budgetLeft + BUDGET_EPSILON) {
+                return -1;
+            }
+            int best = -1;
+            for (int d = 0; d < days; d++) {
+                if (fits(position, d) && (best < 0 || hoursLeft[d] < hoursLeft[best])) {
+                    best = d;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Whether the candidate has room on the day and its category is not there yet
+         */
+        private boolean fits(int position, int d) {
+            return hoursLeft[d] >= hour[position] && !categoryUsedOnDay[d * categoryCount + category[position]];
+        }
+
+        private void place(int position, int slot) {
+            int c = category[position];
+            day[position] = slot + 1;
+            placedOnDay[slot]++;
+            hoursLeft[slot] -= hour[position];
+            hoursLeftTotal -= hour[position];
+            categoryUsedOnDay[slot * categoryCount + c] = true;
+            budgetLeft -= cost[position];
+            value += hour[position];
+            if (categoryUses[c]++ == 0) {
+                unusedCategories--;
+                value += categoryBonusHours;
+            }
+        }
+
+        private void unplace(int position, int slot) {
+            int c = category[position];
+            day[position] = 0;
+            placedOnDay[slot]--;
+            hoursLeft[slot] += hour[position];
+            hoursLeftTotal += hour[position];
+            categoryUsedOnDay[slot * categoryCount + c] = false;
+            budgetLeft += cost[position];
+            value -= hour[position];
+            if (--categoryUses[c] == 0) {
+                unusedCategories++;
+                value -= categoryBonusHours;
+            }
+        }
+    }
+
+    /**
+     * Stable merge sort of indices by key[index], largest key first
+     */
+    static void sortByDescendingKey(int[] indices, double[] key) {
+        int[] buffer = new int[indices.length];
+        for (int width = 1; width < indices.length; width *= 2) {
+            for (int from = 0; from < indices.length - width; from += 2 * width) {
+                int middle = from + width;
+                int to = Math.min(from + 2 * width, indices.length);
+                int left = from;
+                int right = middle;
+                int out = from;
+                while (left < middle && right < to) {
+                    // Ties keep the left run first, which keeps the sort stable
+                    buffer[out++] = Double.compare(key[indices[right]], key[indices[left]]) > 0
+                            ? indices[right++]
+                            : indices[left++];
+                }
+                while (left < middle) {
+                    buffer[out++] = indices[left++];
+                }
+                while (right < to) {
+                    buffer[out++] = indices[right++];
+                }
+                System.arraycopy(buffer, from, indices, from, to - from);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.planora.service;
+
+/**
+ * Trip plan types, trading travel spend for accommodation comfort
+ */
+public enum PlanType {
+    BUDGET,
+    BALANCED,
+    COMFORT;
+
+    private static final PlanType[] VALUES = values();
+
+    /**
+     * Look up a plan type by name, returning null for unknown names
+     */
+    public static PlanType fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (PlanType planType : VALUES) {
+            if (planType.name().equals(name)) {
+                return planType;
+            }
+        }
+        return null;
+    }
+}
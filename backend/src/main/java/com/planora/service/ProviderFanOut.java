@@ -0,0 +1,306 @@
+package com.planora.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Queries every registered provider of a kind concurrently on virtual
+ * threads and merges whatever comes back in time. Each provider has its own
+ * timeout and a bulkhead capping its concurrent calls, so one slow or stuck
+ * source cannot take the others or the request down with it. A call still
+ * running after the hedge delay gets a second, hedged attempt and the first
+ * answer wins. Once any provider has answered, the rest get only a short
+ * grace period, so latency follows the fastest useful answer rather than the
+ * slowest provider.
+ */
+@Slf4j
+@Component
+public class ProviderFanOut {
+
+    private static final String PROVIDER_PROPERTIES = "planora.recommendations.providers.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Duration hedgeDelay;
+    private final Duration grace;
+    private final int maxConcurrentCalls;
+    private final int maxResults;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, ProviderSettings> providerSettings = new ConcurrentHashMap<>();
+
+    public ProviderFanOut(Environment environment, MeterRegistry meterRegistry,
+            @Value("${planora.recommendations.timeout:PT0.3S}") Duration timeout,
+            @Value("${planora.recommendations.hedge-delay:PT0.1S}") Duration hedgeDelay,
+            @Value("${planora.recommendations.grace:PT0.05S}") Duration grace,
+            @Value("${planora.recommendations.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${planora.recommendations.max-results:10}") int maxResults) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.hedgeDelay = hedgeDelay;
+        this.grace = grace;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxResults = maxResults;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start querying the providers. Offers are merged in provider order,
+     * dropping those whose key is null or already taken, up to max-results.
+     */
+    public <T> Pending<T> start(List<? extends RecommendationProvider<T>> providers, RecommendationQuery query,
+            Function<T, Object> key) {
+        return start(providers, query, key, maxResults);
+    }
+
+    /**
+     * Start querying the providers, keeping up to limit merged offers
+     * instead of max-results
+     */
+    public <T> Pending<T> start(List<? extends RecommendationProvider<T>> providers, RecommendationQuery query,
+            Function<T, Object> key, int limit) {
+        List<Call<T>> calls = new ArrayList<>(providers.size());
+        CompletableFuture<Void> firstAnswer = new CompletableFuture<>();
+        for (RecommendationProvider<T> provider : providers) {
+            Call<T> call = new Call<>(provider, settingsFor(provider.getName()));
+            call.start(query);
+            call.result.thenAccept(offers -> {
+                if (!offers.isEmpty()) {
+                    firstAnswer.complete(null);
+                }
+            });
+            calls.add(call);
+        }
+        return new Pending<>(calls, firstAnswer, key, limit);
+    }
+
+    private ProviderSettings settingsFor(String name) {
+        return providerSettings.computeIfAbsent(name, n -> new ProviderSettings(
+                environment.getProperty(PROVIDER_PROPERTIES + n + ".timeout", Duration.class, timeout),
+                environment.getProperty(PROVIDER_PROPERTIES + n + ".hedge-delay", Duration.class, hedgeDelay),
+                new Semaphore(environment.getProperty(PROVIDER_PROPERTIES + n + ".max-concurrent-calls",
+                        Integer.class, maxConcurrentCalls))));
+    }
+
+    /**
+     * Timeout, hedge delay (zero disables hedging) and bulkhead of one provider
+     */
+    private record ProviderSettings(Duration timeout, Duration hedgeDelay, Semaphore bulkhead) {
+    }
+
+    /**
+     * Offers being gathered from a set of providers
+     */
+    public final class Pending<T> {
+
+        private final List<Call<T>> calls;
+        private final CompletableFuture<Void> firstAnswer;
+        private final CompletableFuture<Void> allDone;
+        private final Function<T, Object> key;
+        private final int limit;
+
+        private Pending(List<Call<T>> calls, CompletableFuture<Void> firstAnswer, Function<T, Object> key,
+                int limit) {
+            this.calls = calls;
+            this.firstAnswer = firstAnswer;
+            this.allDone = CompletableFuture.allOf(calls.stream().map(call -> call.result)
+                    .toArray(CompletableFuture[]::new));
+            this.key = key;
+            this.limit = limit;
+        }
+
+        /**
+         * Wait for the merged offers. Every call is bounded by its own
+         * timeout, so this returns within the longest of them; providers
+         * that failed, timed out or missed the grace period contribute nothing.
+         */
+        public List<T> join() {
+            awaitQuietly(CompletableFuture.anyOf(firstAnswer, allDone), null);
+            if (!allDone.isDone()) {
+                awaitQuietly(allDone, grace);
+            }
+
+            Map<Object, T> merged = new LinkedHashMap<>();
+            for (Call<T> call : calls) {
+                // Abandon stragglers; this interrupts their attempts
+                call.result.cancel(true);
+                if (call.result.isCompletedExceptionally()) {
+                    continue;
+                }
+                for (T offer : call.result.resultNow()) {
+                    Object offerKey = key.apply(offer);
+                    if (merged.size() >= limit) {
+                        break;
+                    }
+                    if (offerKey != null) {
+                        merged.putIfAbsent(offerKey, offer);
+                    }
+                }
+            }
+            return new ArrayList<>(merged.values());
+        }
+
+        /**
+         * Whether every provider answered in time; meaningful after {@link #join()}
+         */
+        public boolean isComplete() {
+            for (Call<T> call : calls) {
+                if (!call.result.isDone() || call.result.isCompletedExceptionally()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static void awaitQuietly(CompletableFuture<?> future, Duration limit) {
+            try {
+                if (limit == null) {
+                    future.get();
+                } else {
+                    future.get(limit.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Outcomes are read per call afterwards
+            }
+        }
+    }
+
+    /**
+     * One provider's part in a fan-out: up to two attempts racing to
+     * complete a single result
+     */
+    private final class Call<T> {
+
+        private final RecommendationProvider<T> provider;
+        private final ProviderSettings settings;
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+        private final long startedAt = System.nanoTime();
+        private volatile boolean hedged;
+
+        private Call(RecommendationProvider<T> provider, ProviderSettings settings) {
+            this.provider = provider;
+            this.settings = settings;
+        }
+
+        void start(RecommendationQuery query) {
+            result.whenComplete((offers, failure) -> finish(failure));
+            if (!attempt(query)) {
+                result.completeExceptionally(new RejectedExecutionException(
+                        "Bulkhead full for provider " + provider.getName()));
+                return;
+            }
+            result.orTimeout(settings.timeout().toNanos(), TimeUnit.NANOSECONDS);
+
+            if (settings.hedgeDelay().isPositive() && settings.hedgeDelay().compareTo(settings.timeout()) < 0) {
+                CompletableFuture.delayedExecutor(settings.hedgeDelay().toNanos(), TimeUnit.NANOSECONDS, executor)
+                        .execute(() -> {
+                            if (!result.isDone()) {
+                                // Set first so that a hedge winning straight away is reported as one
+                                hedged = true;
+                                if (!attempt(query)) {
+                                    hedged = false;
+                                }
+                            }
+                        });
+            }
+        }
+
+        /**
+         * Run one attempt if the bulkhead has room
+         */
+        private boolean attempt(RecommendationQuery query) {
+            Semaphore bulkhead = settings.bulkhead();
+            if (!bulkhead.tryAcquire()) {
+                return false;
+            }
+            try {
+                executor.execute(() -> {
+                    Thread thread = Thread.currentThread();
+                    running.add(thread);
+                    List<T> offers = null;
+                    Throwable failure = null;
+                    try {
+                        if (!result.isDone()) {
+                            offers = provider.recommend(query);
+                        }
+                    } catch (Throwable e) {
+                        failure = e;
+                    } finally {
+                        running.remove(thread);
+                        bulkhead.release();
+                    }
+                    // Completing runs finish(), which must not interrupt this thread
+                    if (failure != null) {
+                        result.completeExceptionally(failure);
+                    } else if (offers != null) {
+                        result.complete(offers);
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                bulkhead.release();
+                return false;
+            }
+        }
+
+        private void finish(Throwable failure) {
+            // Losing and abandoned attempts are of no further use
+            running.forEach(Thread::interrupt);
+
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            String outcome;
+            if (cause == null) {
+                outcome = "success";
+            } else if (cause instanceof TimeoutException) {
+                outcome = "timeout";
+            } else if (cause instanceof CancellationException) {
+                outcome = "abandoned";
+            } else if (cause instanceof RejectedExecutionException) {
+                outcome = "rejected";
+            } else {
+                outcome = "error";
+            }
+            Timer.builder("planora.recommendations.provider")
+                    .tag("provider", provider.getName())
+                    .tag("outcome", outcome)
+                    .tag("hedged", String.valueOf(hedged))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (outcome.equals("error")) {
+                log.warn("Recommendation provider {} failed", provider.getName(), cause);
+            }
+        }
+    }
+}
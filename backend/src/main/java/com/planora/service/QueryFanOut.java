@@ -0,0 +1,151 @@
+package com.planora.service;
+
+import com.planora.metrics.SqlStatementCounter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent repository reads concurrently on virtual threads.
+ * A {@link Scope} works like a shutdown-on-failure structured task scope:
+ * subtasks are forked, joined together, and the first failure cancels the
+ * rest. A global semaphore sized from the connection pool keeps concurrent
+ * reads from starving other requests of connections.
+ * <p>
+ * Each forked read borrows its own connection, so a subtask runs inline on
+ * the caller instead when no permit is free, or when the caller is inside a
+ * transaction and already holds a connection. Either way a request never
+ * waits on the pool while holding a connection of its own.
+ */
+@Component
+public class QueryFanOut {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public QueryFanOut(@Value("${planora.reads.parallel.enabled:true}") boolean enabled,
+            @Value("${planora.reads.parallel.max-concurrent-queries:0}") int maxConcurrentQueries,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.enabled = enabled;
+        // By default leave half of the pool for single-query requests and writes
+        this.permits = new Semaphore(maxConcurrentQueries > 0 ? maxConcurrentQueries : Math.max(1, poolSize / 2));
+    }
+
+    public Scope open() {
+        return new Scope(enabled);
+    }
+
+    /**
+     * A scope whose subtasks all run inline, for long-running callers such
+     * as streamed exports that should hold at most one connection at a time
+     */
+    public Scope openSequential() {
+        return new Scope(false);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final boolean parallel;
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private Scope(boolean parallel) {
+            this.parallel = parallel;
+        }
+
+        /**
+         * Start a subtask. Its result is available from the returned
+         * handle once {@link #join()} has returned.
+         */
+        public <T> Subtask<T> fork(Callable<T> task) {
+            if (!parallel || TransactionSynchronizationManager.isActualTransactionActive()
+                    || !permits.tryAcquire()) {
+                return inline(task);
+            }
+            // Statements run by the subtask still count towards the calling request
+            AtomicInteger statementCounter = SqlStatementCounter.current();
+            FutureTask<T> future = new FutureTask<>(() -> {
+                SqlStatementCounter.bind(statementCounter);
+                try {
+                    return task.call();
+                } finally {
+                    SqlStatementCounter.clear();
+                }
+            }) {
+                @Override
+                protected void done() {
+                    // Also runs when the subtask is cancelled before it starts
+                    permits.release();
+                }
+            };
+            executor.execute(future);
+            futures.add(future);
+            return future::resultNow;
+        }
+
+        /**
+         * Wait for every subtask, rethrowing the first failure after
+         * cancelling whatever is still running
+         */
+        public void join() {
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                cancelAll();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for queries", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        private <T> Subtask<T> inline(Callable<T> task) {
+            try {
+                T result = task.call();
+                return () -> result;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Subtask<T> {
+        T get();
+    }
+}
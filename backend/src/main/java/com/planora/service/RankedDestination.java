@@ -0,0 +1,9 @@
+package com.planora.service;
+
+import com.planora.entity.Destination;
+
+/**
+ * A destination with its value-for-budget score, between 0 and 1
+ */
+public record RankedDestination(Destination destination, double score) {
+}
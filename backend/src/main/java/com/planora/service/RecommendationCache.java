@@ -0,0 +1,119 @@
+package com.planora.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.planora.entity.Trip;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of provider recommendations shared by similar trips: same
+ * start city, travel type and plan type, and a per-day budget in the same
+ * geometric bucket. Prices are stored as shares of the category budget they
+ * were offered against, so each trip scales them to its own budget.
+ */
+@Component
+public class RecommendationCache implements MeterBinder {
+
+    private final AsyncCache<Key, Entry> cache;
+    private final double logBucketRatio;
+
+    public RecommendationCache(@Value("${planora.recommendations.cache.max-size:10000}") long maxSize,
+            @Value("${planora.recommendations.cache.ttl:PT10M}") Duration ttl,
+            @Value("${planora.recommendations.cache.bucket-ratio:1.25}") double bucketRatio) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.logBucketRatio = Math.log(bucketRatio);
+    }
+
+    /**
+     * Cached recommendations for trips like this one, computing them with
+     * the loader on the calling thread on a miss. Concurrent misses for the
+     * same key wait for that one load instead of starting their own; the
+     * in-flight load is a future in the cache, so a slow load does not block
+     * other keys. Incomplete results are handed to the callers waiting on
+     * that load but not kept.
+     */
+    public Entry get(Trip trip, Supplier<Entry> loader) {
+        Key key = keyOf(trip);
+        // Counts the hit or miss
+        CompletableFuture<Entry> cached = cache.getIfPresent(key);
+        if (cached == null) {
+            CompletableFuture<Entry> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(key, loading);
+            if (cached == null) {
+                return load(key, loading, loader);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            // Waiters see the loader's own exception, as the loading caller does
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Entry load(Key key, CompletableFuture<Entry> loading, Supplier<Entry> loader) {
+        Entry entry;
+        try {
+            entry = loader.get();
+        } catch (Throwable e) {
+            // Errors too, or waiters would block on the future for good
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        loading.complete(entry);
+        if (!entry.complete()) {
+            cache.asMap().remove(key, loading);
+        }
+        return entry;
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "recommendations");
+    }
+
+    private Key keyOf(Trip trip) {
+        double budgetPerDay = trip.getTotalBudget() / trip.getNumberOfDays();
+        // Each bucket spans a factor of bucket-ratio, so "similar" is relative to the budget
+        int budgetBucket = budgetPerDay > 0
+                ? (int) Math.floor(Math.log(budgetPerDay) / logBucketRatio)
+                : Integer.MIN_VALUE;
+        String startCity = trip.getStartCity() != null ? trip.getStartCity().trim().toLowerCase(Locale.ROOT) : "";
+        return new Key(startCity, trip.getTravelType(), trip.getPlanType(), budgetBucket);
+    }
+
+    private record Key(String startCity, String travelType, String planType, int budgetBucket) {
+    }
+
+    /**
+     * Catalog ids with the share of the nightly accommodation budget
+     * (hotels) or of the activities budget (activities) they were offered
+     * at, plus the hours and category of each activity for scheduling.
+     * complete is false when some provider did not answer in time.
+     */
+    public record Entry(long[] hotelIds, double[] hotelPriceShares, long[] activityIds,
+            double[] activityCostShares, int[] activityHours, String[] activityCategories, boolean complete) {
+    }
+}
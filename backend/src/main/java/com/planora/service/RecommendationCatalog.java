@@ -0,0 +1,118 @@
+package com.planora.service;
+
+import com.planora.entity.Activity;
+import com.planora.entity.Hotel;
+import com.planora.repository.ActivityRepository;
+import com.planora.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the shared hotel and activity catalogs. Trips store only
+ * catalog ids and their computed prices, so responses are assembled from
+ * this snapshot instead of re-reading catalog text and JSON per trip. The
+ * snapshot is swapped atomically on refresh, like the {@link DestinationIndex},
+ * and carries a content hash of both catalogs as its version.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationCatalog {
+
+    private final HotelRepository hotelRepository;
+    private final ActivityRepository activityRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of(), Map.of(), Map.of(),
+            ResourceVersion.next(null, ResourceVersion.strongETag()));
+
+    /**
+     * Reload both catalogs from the database and publish them in one step
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${planora.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${planora.catalog.refresh-interval-ms:300000}")
+    public void refresh() {
+        List<Hotel> hotels = hotelRepository.findAll().stream()
+                .sorted(Comparator.comparing(Hotel::getId))
+                .toList();
+        List<Activity> activities = activityRepository.findAll().stream()
+                .sorted(Comparator.comparing(Activity::getId))
+                .toList();
+
+        List<Object> versionParts = new ArrayList<>();
+        for (Hotel hotel : hotels) {
+            versionParts.add(hotel.getId());
+            versionParts.add(hotel.getName());
+            versionParts.add(hotel.getPriceShare());
+            versionParts.add(hotel.getRating());
+            versionParts.add(hotel.getAmenities());
+            versionParts.add(hotel.getImageUrl());
+        }
+        for (Activity activity : activities) {
+            versionParts.add(activity.getId());
+            versionParts.add(activity.getName());
+            versionParts.add(activity.getDescription());
+            versionParts.add(activity.getCostShare());
+            versionParts.add(activity.getDurationHours());
+            versionParts.add(activity.getCategory());
+            versionParts.add(activity.getImageUrl());
+        }
+
+        snapshot = new Snapshot(hotels, activities,
+                hotels.stream().collect(Collectors.toUnmodifiableMap(Hotel::getId, Function.identity())),
+                activities.stream().collect(Collectors.toUnmodifiableMap(Activity::getId, Function.identity())),
+                ResourceVersion.next(snapshot.version(), ResourceVersion.strongETag(versionParts.toArray())));
+        log.debug("Recommendation catalog loaded with {} hotels and {} activities",
+                hotels.size(), activities.size());
+    }
+
+    /**
+     * Every catalog hotel, in id order
+     */
+    public List<Hotel> getHotels() {
+        return snapshot.hotels();
+    }
+
+    /**
+     * Every catalog activity, in id order
+     */
+    public List<Activity> getActivities() {
+        return snapshot.activities();
+    }
+
+    /**
+     * Validators for both catalogs, in the form of {@link DestinationIndex#getVersion()}
+     */
+    public ResourceVersion getVersion() {
+        return snapshot.version();
+    }
+
+    /**
+     * Catalog hotel with the given id, or null if it is not loaded
+     */
+    public Hotel findHotel(Long id) {
+        return snapshot.hotelsById().get(id);
+    }
+
+    /**
+     * Catalog activity with the given id, or null if it is not loaded
+     */
+    public Activity findActivity(Long id) {
+        return snapshot.activitiesById().get(id);
+    }
+
+    private record Snapshot(List<Hotel> hotels, List<Activity> activities, Map<Long, Hotel> hotelsById,
+            Map<Long, Activity> activitiesById, ResourceVersion version) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.planora.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that reloads the {@link RecommendationCatalog} and clears the
+ * {@link RecommendationCache}, whose shares come from the catalog, after a
+ * hotel or activity catalog write commits. Both are looked up lazily for the
+ * same reason as in {@link DestinationChangeListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationCatalogChangeListener {
+
+    private final ObjectProvider<RecommendationCatalog> recommendationCatalog;
+    private final ObjectProvider<RecommendationCache> recommendationCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private void reload() {
+        recommendationCatalog.getObject().refresh();
+        recommendationCache.getObject().invalidateAll();
+    }
+}
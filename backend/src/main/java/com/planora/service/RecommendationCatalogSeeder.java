@@ -0,0 +1,142 @@
+package com.planora.service;
+
+import com.planora.entity.Activity;
+import com.planora.entity.Hotel;
+import com.planora.repository.ActivityRepository;
+import com.planora.repository.HotelRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Makes sure the shared hotel and activity catalog exists on every
+ * deployment, including those that skip data.sql. On startup, before the
+ * {@link RecommendationCatalog} is first loaded, it:
+ * <ul>
+ * <li>moves trips planned before the shared catalog over from the per-trip
+ * hotels and activities tables, when those still exist, adding any hotel or
+ * activity name the catalog lacks;</li>
+ * <li>seeds the default entries into an empty catalog.</li>
+ * </ul>
+ * Each step only touches rows that are missing, so it is safe to run on
+ * every start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationCatalogSeeder implements ApplicationRunner {
+
+    private static final String LEGACY_HOTELS = "hotels";
+    private static final String LEGACY_ACTIVITIES = "activities";
+
+    private final HotelRepository hotelRepository;
+    private final ActivityRepository activityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SequenceSupport sequences = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport();
+
+        if (tableExists(LEGACY_HOTELS)) {
+            migrateLegacyHotels(sequences.getSelectSequenceNextValString("trip_hotels_seq"));
+        }
+        if (tableExists(LEGACY_ACTIVITIES)) {
+            migrateLegacyActivities(sequences.getSelectSequenceNextValString("trip_activities_seq"));
+        }
+
+        if (hotelRepository.count() == 0) {
+            List<Hotel> hotels = hotelRepository.saveAll(defaultHotels());
+            log.info("Seeded hotel catalog with {} default hotels", hotels.size());
+        }
+        if (activityRepository.count() == 0) {
+            List<Activity> activities = activityRepository.saveAll(defaultActivities());
+            log.info("Seeded activity catalog with {} default activities", activities.size());
+        }
+    }
+
+    /**
+     * Default hotels, priced at shares of the nightly accommodation budget
+     */
+    private static List<Hotel> defaultHotels() {
+        return List.of(
+                new Hotel(null, "Comfort Inn", 0.70, 4.0, "[\"WiFi\", \"Breakfast\", \"Pool\"]", null, null),
+                new Hotel(null, "Grand Plaza Hotel", 0.90, 4.5, "[\"WiFi\", \"Breakfast\", \"Gym\", \"Spa\"]",
+                        null, null));
+    }
+
+    /**
+     * Default activities, costed at shares of the activities budget
+     */
+    private static List<Activity> defaultActivities() {
+        return List.of(
+                new Activity(null, "City Tour", "Explore the city's main attractions", 0.30, 4, "SIGHTSEEING",
+                        null, null),
+                new Activity(null, "Local Food Experience", "Taste authentic local cuisine", 0.25, 3, "FOOD",
+                        null, null),
+                new Activity(null, "Adventure Activity", "Exciting outdoor adventure", 0.35, 5, "ADVENTURE",
+                        null, null));
+    }
+
+    private void migrateLegacyHotels(String nextId) {
+        // Shares are taken back out of the stored prices, as each was priced from its trip's nightly budget
+        int added = jdbcTemplate.update("INSERT INTO hotel_catalog (name, price_share, rating, amenities, image_url)"
+                + " SELECT h.name, MIN(h.price_per_night * t.number_of_days / b.accommodation_budget),"
+                + " MAX(h.rating), MAX(h.amenities), MAX(h.image_url)"
+                + " FROM hotels h JOIN trips t ON t.id = h.trip_id JOIN budget_allocation b ON b.trip_id = h.trip_id"
+                + " WHERE b.accommodation_budget > 0"
+                + " AND NOT EXISTS (SELECT 1 FROM hotel_catalog c WHERE c.name = h.name)"
+                + " GROUP BY h.name");
+        int moved = jdbcTemplate.update("INSERT INTO trip_hotels (id, trip_id, hotel_id, price_per_night)"
+                + " SELECT " + nextId + ", h.trip_id,"
+                + " (SELECT MIN(c.id) FROM hotel_catalog c WHERE c.name = h.name), h.price_per_night"
+                + " FROM hotels h"
+                + " WHERE EXISTS (SELECT 1 FROM hotel_catalog c WHERE c.name = h.name)"
+                + " AND NOT EXISTS (SELECT 1 FROM trip_hotels th WHERE th.trip_id = h.trip_id)");
+        if (added > 0 || moved > 0) {
+            log.info("Moved {} per-trip hotels to the shared catalog, adding {} catalog hotels", moved, added);
+        }
+    }
+
+    private void migrateLegacyActivities(String nextId) {
+        int added = jdbcTemplate.update("INSERT INTO activity_catalog (name, description, cost_share,"
+                + " duration_hours, category, image_url)"
+                + " SELECT a.name, MAX(a.description), MIN(a.cost / b.activities_budget),"
+                + " MAX(a.duration_hours), MAX(a.category), MAX(a.image_url)"
+                + " FROM activities a JOIN budget_allocation b ON b.trip_id = a.trip_id"
+                + " WHERE b.activities_budget > 0"
+                + " AND NOT EXISTS (SELECT 1 FROM activity_catalog c WHERE c.name = a.name)"
+                + " GROUP BY a.name");
+        int moved = jdbcTemplate.update("INSERT INTO trip_activities (id, trip_id, activity_id, cost)"
+                + " SELECT " + nextId + ", a.trip_id,"
+                + " (SELECT MIN(c.id) FROM activity_catalog c WHERE c.name = a.name), a.cost"
+                + " FROM activities a"
+                + " WHERE EXISTS (SELECT 1 FROM activity_catalog c WHERE c.name = a.name)"
+                + " AND NOT EXISTS (SELECT 1 FROM trip_activities ta WHERE ta.trip_id = a.trip_id)");
+        if (added > 0 || moved > 0) {
+            log.info("Moved {} per-trip activities to the shared catalog, adding {} catalog activities",
+                    moved, added);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        try {
+            jdbcTemplate.queryForList("SELECT 1 FROM " + table + " WHERE 1 = 0");
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.planora.service;
+
+import java.util.List;
+
+/**
+ * A source of recommendations for a trip. Implementations are Spring beans
+ * queried concurrently by {@link ProviderFanOut}; a call may block, and its
+ * thread is interrupted once the answer is no longer wanted.
+ */
+public interface RecommendationProvider<T> {
+
+    /**
+     * Name used for per-provider settings under
+     * planora.recommendations.providers and as the metrics tag
+     */
+    String getName();
+
+    /**
+     * Offers for the trip, best first
+     */
+    List<T> recommend(RecommendationQuery query);
+}
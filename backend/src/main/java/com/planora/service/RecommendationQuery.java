@@ -0,0 +1,11 @@
+package com.planora.service;
+
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Trip;
+
+/**
+ * What providers are asked to recommend for: the trip and its budget split.
+ * Both are shared between providers and must not be modified.
+ */
+public record RecommendationQuery(Trip trip, BudgetAllocation budgetAllocation) {
+}
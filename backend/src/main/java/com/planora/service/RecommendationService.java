@@ -0,0 +1,107 @@
+package com.planora.service;
+
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Trip;
+import com.planora.entity.TripActivity;
+import com.planora.entity.TripHotel;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gathers hotel and activity recommendations for a trip from every
+ * registered {@link HotelProvider} and {@link ActivityProvider} through the
+ * {@link ProviderFanOut}, sharing results between similar trips through the
+ * {@link RecommendationCache}. Activities are a candidate pool that the
+ * {@link ItineraryOptimizer} picks from and schedules per trip.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private final List<HotelProvider> hotelProviders;
+    private final List<ActivityProvider> activityProviders;
+    private final ProviderFanOut providerFanOut;
+    private final RecommendationCache recommendationCache;
+    private final ItineraryOptimizer itineraryOptimizer;
+
+    /**
+     * Unsaved recommendation rows for the trip: hotels in provider order and
+     * the scheduled activities with their day. Trips sharing a
+     * {@link RecommendationCache} key reuse one provider fan-out, with prices
+     * scaled to each trip's own budget.
+     */
+    @Timed(value = "planora.recommendations", percentiles = {0.5, 0.95, 0.99})
+    public Recommendations recommend(Trip trip, BudgetAllocation budgetAllocation) {
+        RecommendationCache.Entry entry = recommendationCache.get(trip, () -> fetch(trip, budgetAllocation));
+
+        double maxPricePerNight = budgetAllocation.getAccommodationBudget() / trip.getNumberOfDays();
+        List<TripHotel> hotels = new ArrayList<>(entry.hotelIds().length);
+        for (int i = 0; i < entry.hotelIds().length; i++) {
+            hotels.add(new TripHotel(null, trip.getId(), entry.hotelIds()[i],
+                    maxPricePerNight * entry.hotelPriceShares()[i]));
+        }
+
+        // Shares of the activities budget, so the whole budget is 1
+        int[] days = itineraryOptimizer.schedule(entry.activityCostShares(), entry.activityHours(),
+                entry.activityCategories(), 1.0, trip.getNumberOfDays());
+        double activityBudget = budgetAllocation.getActivitiesBudget();
+        List<TripActivity> activities = new ArrayList<>();
+        for (int i = 0; i < days.length; i++) {
+            if (days[i] > 0) {
+                activities.add(new TripActivity(null, trip.getId(), entry.activityIds()[i],
+                        activityBudget * entry.activityCostShares()[i], days[i]));
+            }
+        }
+        return new Recommendations(hotels, activities);
+    }
+
+    /**
+     * Query every provider, both kinds at once, and express the offers as
+     * shares of the budgets they were made against
+     */
+    private RecommendationCache.Entry fetch(Trip trip, BudgetAllocation budgetAllocation) {
+        RecommendationQuery query = new RecommendationQuery(trip, budgetAllocation);
+        ProviderFanOut.Pending<HotelOffer> pendingHotels =
+                providerFanOut.start(hotelProviders, query, offer -> offer.hotel().getId());
+        ProviderFanOut.Pending<ActivityOffer> pendingActivities =
+                providerFanOut.start(activityProviders, query, offer -> offer.activity().getId(),
+                        itineraryOptimizer.getPoolSize());
+
+        List<HotelOffer> hotelOffers = pendingHotels.join();
+        List<ActivityOffer> activityOffers = pendingActivities.join();
+
+        double maxPricePerNight = budgetAllocation.getAccommodationBudget() / trip.getNumberOfDays();
+        long[] hotelIds = new long[hotelOffers.size()];
+        double[] hotelPriceShares = new double[hotelOffers.size()];
+        for (int i = 0; i < hotelIds.length; i++) {
+            HotelOffer offer = hotelOffers.get(i);
+            hotelIds[i] = offer.hotel().getId();
+            hotelPriceShares[i] = maxPricePerNight > 0 ? offer.pricePerNight() / maxPricePerNight : 0;
+        }
+
+        double activityBudget = budgetAllocation.getActivitiesBudget();
+        long[] activityIds = new long[activityOffers.size()];
+        double[] activityCostShares = new double[activityOffers.size()];
+        int[] activityHours = new int[activityOffers.size()];
+        String[] activityCategories = new String[activityOffers.size()];
+        for (int i = 0; i < activityIds.length; i++) {
+            ActivityOffer offer = activityOffers.get(i);
+            activityIds[i] = offer.activity().getId();
+            activityCostShares[i] = activityBudget > 0 ? offer.cost() / activityBudget : 0;
+            // An activity without a duration still takes up part of a day
+            Integer hours = offer.activity().getDurationHours();
+            activityHours[i] = hours != null && hours > 0 ? hours : 1;
+            activityCategories[i] = offer.activity().getCategory();
+        }
+
+        return new RecommendationCache.Entry(hotelIds, hotelPriceShares, activityIds, activityCostShares,
+                activityHours, activityCategories, pendingHotels.isComplete() && pendingActivities.isComplete());
+    }
+
+    public record Recommendations(List<TripHotel> hotels, List<TripActivity> activities) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.planora.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Validators for a conditional GET: a strong ETag and the last-modified time
+ * in epoch milliseconds, or -1 when unknown.
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    /**
+     * Version of a rebuilt in-memory snapshot with the given ETag: the
+     * previous one while the content is unchanged, else one modified now
+     */
+    public static ResourceVersion next(ResourceVersion previous, String eTag) {
+        if (previous != null && previous.eTag().equals(eTag)) {
+            return previous;
+        }
+        return new ResourceVersion(eTag, System.currentTimeMillis());
+    }
+
+    /**
+     * Quoted strong ETag hashed from the string forms of the parts
+     */
+    public static String strongETag(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.planora.service;
+
+import com.planora.dto.RouteDTO;
+import com.planora.dto.RouteLegDTO;
+import com.planora.dto.RouteRequestDTO;
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Destination;
+import com.planora.entity.Trip;
+import com.planora.exception.InvalidRequestException;
+import com.planora.exception.ResourceNotFoundException;
+import com.planora.repository.TripRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plans multi-city routes: orders a trip's stops to minimize travel cost or
+ * time, checked against the trip's travel budget. Legs are priced from a
+ * distance matrix over the destination catalog that is built once per
+ * catalog version, so a request only reads its stops' rows before handing a
+ * small weight matrix to the {@link RouteSolver}.
+ * <p>
+ * A leg up to road-max-km goes by road, a longer one by air; costs are per
+ * traveler and scale with the trip's party size.
+ */
+@Service
+public class RoutePlanningService {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final TripRepository tripRepository;
+    private final BudgetAllocationService budgetAllocationService;
+    private final DestinationIndex destinationIndex;
+
+    private final double roadMaxKm;
+    private final double roadCostPerKm;
+    private final double roadSpeedKmh;
+    private final double flightBaseFare;
+    private final double flightCostPerKm;
+    private final double flightSpeedKmh;
+    private final double flightOverheadHours;
+    private final int exactMaxStops;
+    private final long timeBudgetNanos;
+    private final int matrixMaxDestinations;
+
+    private volatile DistanceMatrix matrix;
+
+    public RoutePlanningService(TripRepository tripRepository, BudgetAllocationService budgetAllocationService,
+            DestinationIndex destinationIndex,
+            @Value("${planora.routes.road.max-km:500}") double roadMaxKm,
+            @Value("${planora.routes.road.cost-per-km:0.08}") double roadCostPerKm,
+            @Value("${planora.routes.road.speed-kmh:60}") double roadSpeedKmh,
+            @Value("${planora.routes.flight.base-fare:60}") double flightBaseFare,
+            @Value("${planora.routes.flight.cost-per-km:0.05}") double flightCostPerKm,
+            @Value("${planora.routes.flight.speed-kmh:700}") double flightSpeedKmh,
+            @Value("${planora.routes.flight.overhead-hours:3}") double flightOverheadHours,
+            @Value("${planora.routes.exact-max-stops:12}") int exactMaxStops,
+            @Value("${planora.routes.time-budget:PT0.03S}") Duration timeBudget,
+            @Value("${planora.routes.matrix-max-destinations:2000}") int matrixMaxDestinations) {
+        this.tripRepository = tripRepository;
+        this.budgetAllocationService = budgetAllocationService;
+        this.destinationIndex = destinationIndex;
+        this.roadMaxKm = roadMaxKm;
+        this.roadCostPerKm = roadCostPerKm;
+        this.roadSpeedKmh = roadSpeedKmh;
+        this.flightBaseFare = flightBaseFare;
+        this.flightCostPerKm = flightCostPerKm;
+        this.flightSpeedKmh = flightSpeedKmh;
+        this.flightOverheadHours = flightOverheadHours;
+        this.exactMaxStops = exactMaxStops;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.matrixMaxDestinations = matrixMaxDestinations;
+    }
+
+    /**
+     * Order the trip's destination and the requested stops. When optimizing
+     * for time yields a route over the travel budget, the cheapest route is
+     * returned instead.
+     */
+    @Timed(value = "planora.routes.plan", percentiles = {0.5, 0.95, 0.99})
+    public RouteDTO planRoute(Long tripId, RouteRequestDTO request, Long userId) {
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        if (!trip.getUserId().equals(userId)) {
+            throw new RuntimeException("Unauthorized access to trip");
+        }
+        // A trip whose plan is still pending is routed against the allocation it will get
+        BudgetAllocation budgetAllocation = budgetAllocationService.findBudgetAllocationByTripId(tripId)
+                .orElseGet(() -> budgetAllocationService.calculateBudgetAllocation(
+                        tripId, trip.getTotalBudget(), trip.getPlanType()));
+        DistanceMatrix current = matrix();
+
+        // Start: the requested destination, else one named like the start city, else none
+        int start = request.getStartDestinationId() != null
+                ? positionOf(current, request.getStartDestinationId())
+                : current.byName().getOrDefault(normalize(trip.getStartCity()), -1);
+
+        Set<Integer> stops = new LinkedHashSet<>();
+        if (trip.getDestinationId() != null) {
+            stops.add(positionOf(current, trip.getDestinationId()));
+        }
+        for (Long id : request.getDestinationIds()) {
+            stops.add(positionOf(current, id));
+        }
+        stops.remove(start);
+        if (stops.size() + (start >= 0 ? 1 : 0) < 2) {
+            throw new InvalidRequestException("A route needs at least two distinct places");
+        }
+
+        boolean closed = request.getReturnToStart() == null || request.getReturnToStart();
+        int[] nodes = routeNodes(start, stops, closed);
+        int n = nodes.length;
+        double[] kilometres = new double[n * n];
+        double[] costs = new double[n * n];
+        double[] hours = new double[n * n];
+        int travelers = trip.getNumberOfTravelers() != null ? trip.getNumberOfTravelers() : 1;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                // The placeholder start of an open route without one is free to leave
+                if (i != j && nodes[i] >= 0 && nodes[j] >= 0) {
+                    double km = current.distance(nodes[i], nodes[j]);
+                    kilometres[i * n + j] = km;
+                    costs[i * n + j] = legCost(km) * travelers;
+                    hours[i * n + j] = legHours(km);
+                }
+            }
+        }
+
+        double travelBudget = budgetAllocation.getTravelBudget();
+        boolean byTime = "TIME".equals(request.getOptimizeFor());
+        RouteSolver.Solution solution = solve(byTime ? hours : costs, n, closed);
+        if (byTime && RouteSolver.weight(solution.order(), costs, n, closed) > travelBudget) {
+            byTime = false;
+            solution = solve(costs, n, closed);
+        }
+
+        return toRouteDTO(trip, current, nodes, solution, closed, byTime, kilometres, costs, hours, travelBudget);
+    }
+
+    private RouteSolver.Solution solve(double[] weights, int n, boolean closed) {
+        return RouteSolver.solve(weights, n, closed, exactMaxStops, System.nanoTime() + timeBudgetNanos);
+    }
+
+    /**
+     * Matrix positions of the route's nodes, the start first. Without a
+     * start, a closed route may begin at any stop; an open one gets a
+     * placeholder start (-1) with free legs, so the solver picks the first stop.
+     */
+    private static int[] routeNodes(int start, Set<Integer> stops, boolean closed) {
+        boolean placeholder = start < 0 && !closed;
+        int[] nodes = new int[stops.size() + (start >= 0 || placeholder ? 1 : 0)];
+        int count = 0;
+        if (start >= 0 || placeholder) {
+            nodes[count++] = start;
+        }
+        for (int stop : stops) {
+            nodes[count++] = stop;
+        }
+        return nodes;
+    }
+
+    private RouteDTO toRouteDTO(Trip trip, DistanceMatrix current, int[] nodes, RouteSolver.Solution solution,
+            boolean closed, boolean byTime, double[] kilometres, double[] costs, double[] hours,
+            double travelBudget) {
+        int n = nodes.length;
+        int[] order = solution.order();
+        List<RouteLegDTO> legs = new ArrayList<>(n);
+        double totalKm = 0;
+        double totalHours = 0;
+        double totalCost = 0;
+        for (int position = 1; position <= (closed ? n : n - 1); position++) {
+            int from = order[position - 1];
+            int to = order[position % n];
+            if (nodes[from] < 0) {
+                continue;
+            }
+            Destination origin = current.destinations()[nodes[from]];
+            Destination target = current.destinations()[nodes[to]];
+            int cell = from * n + to;
+            legs.add(new RouteLegDTO(origin.getId(), origin.getName(), target.getId(), target.getName(),
+                    kilometres[cell] <= roadMaxKm ? "ROAD" : "FLIGHT",
+                    round(kilometres[cell]), round(hours[cell]), round(costs[cell])));
+            totalKm += kilometres[cell];
+            totalHours += hours[cell];
+            totalCost += costs[cell];
+        }
+
+        return new RouteDTO(trip.getId(), byTime ? "TIME" : "COST", legs,
+                round(totalKm), round(totalHours), round(totalCost), travelBudget,
+                totalCost <= travelBudget, solution.optimal());
+    }
+
+    private double legCost(double km) {
+        return km <= roadMaxKm ? km * roadCostPerKm : flightBaseFare + km * flightCostPerKm;
+    }
+
+    private double legHours(double km) {
+        return km <= roadMaxKm ? km / roadSpeedKmh : flightOverheadHours + km / flightSpeedKmh;
+    }
+
+    private static int positionOf(DistanceMatrix current, Long destinationId) {
+        Integer position = current.positions().get(destinationId);
+        if (position != null) {
+            return position;
+        }
+        if (current.unrouted().contains(destinationId)) {
+            throw new InvalidRequestException("Destination " + destinationId + " has no coordinates for routing");
+        }
+        throw new ResourceNotFoundException("Destination", "id", destinationId);
+    }
+
+    /**
+     * The matrix for the current catalog version, rebuilding it when the
+     * catalog has changed since it was built
+     */
+    private DistanceMatrix matrix() {
+        // Read the version before the data, so a concurrent refresh at worst causes one extra rebuild
+        String eTag = destinationIndex.getVersion().eTag();
+        DistanceMatrix current = matrix;
+        if (current == null || !current.eTag().equals(eTag)) {
+            synchronized (this) {
+                current = matrix;
+                if (current == null || !current.eTag().equals(eTag)) {
+                    current = DistanceMatrix.build(eTag, destinationIndex.getAll(), matrixMaxDestinations);
+                    matrix = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static String normalize(String name) {
+        return name != null ? name.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Great-circle distances between the catalog's destinations that have
+     * coordinates. Up to matrix-max-destinations the full matrix is kept as
+     * floats; beyond that distances are computed per request from the
+     * coordinates, which is as cheap as reading them for a route's handful
+     * of stops.
+     */
+    private record DistanceMatrix(String eTag, Destination[] destinations, Map<Long, Integer> positions,
+            Map<String, Integer> byName, Set<Long> unrouted,
+            double[] latitudes, double[] longitudes, float[] kilometres) {
+
+        static DistanceMatrix build(String eTag, List<Destination> catalog, int maxDestinations) {
+            List<Destination> routable = new ArrayList<>(catalog.size());
+            Set<Long> unrouted = new HashSet<>();
+            for (Destination destination : catalog) {
+                if (destination.getLatitude() != null && destination.getLongitude() != null) {
+                    routable.add(destination);
+                } else {
+                    unrouted.add(destination.getId());
+                }
+            }
+
+            int n = routable.size();
+            Destination[] destinations = routable.toArray(new Destination[0]);
+            Map<Long, Integer> positions = new HashMap<>(n * 2);
+            Map<String, Integer> byName = new HashMap<>(n * 2);
+            double[] latitudes = new double[n];
+            double[] longitudes = new double[n];
+            for (int i = 0; i < n; i++) {
+                positions.put(destinations[i].getId(), i);
+                byName.putIfAbsent(normalize(destinations[i].getName()), i);
+                latitudes[i] = Math.toRadians(destinations[i].getLatitude());
+                longitudes[i] = Math.toRadians(destinations[i].getLongitude());
+            }
+
+            float[] kilometres = null;
+            if (n <= maxDestinations) {
+                kilometres = new float[n * n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        float km = (float) haversine(latitudes, longitudes, i, j);
+                        kilometres[i * n + j] = km;
+                        kilometres[j * n + i] = km;
+                    }
+                }
+            }
+            return new DistanceMatrix(eTag, destinations, Map.copyOf(positions), Map.copyOf(byName),
+                    Set.copyOf(unrouted), latitudes, longitudes, kilometres);
+        }
+
+        double distance(int i, int j) {
+            return kilometres != null
+                    ? kilometres[i * destinations.length + j]
+                    : haversine(latitudes, longitudes, i, j);
+        }
+
+        private static double haversine(double[] latitudes, double[] longitudes, int i, int j) {
+            double dLat = latitudes[j] - latitudes[i];
+            double dLon = longitudes[j] - longitudes[i];
+            double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(latitudes[i]) * Math.cos(latitudes[j]) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+            return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+        }
+    }
+}
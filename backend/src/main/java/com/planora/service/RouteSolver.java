@@ -0,0 +1,286 @@
+package com.planora.service;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Orders the nodes of a route to minimize the sum of its leg weights. Node 0
+ * is the fixed start; a closed route returns to it, an open one ends at
+ * whichever node comes last. Weights are a row-major n * n matrix and must be
+ * symmetric, since the local search reverses segments.
+ * <p>
+ * Small routes are solved exactly with the Held-Karp dynamic program over
+ * subsets. Larger ones start from nearest neighbour, are improved with 2-opt
+ * and Or-opt moves, and then perturbed with double-bridge kicks followed by
+ * another local search, keeping the best route found before the deadline.
+ */
+final class RouteSolver {
+
+    // Double-bridge kicks tried per node once the first local optimum is reached
+    private static final int KICKS_PER_NODE = 20;
+    // Longest segment Or-opt moves
+    private static final int OR_OPT_MAX_SEGMENT = 3;
+    private static final double EPSILON = 1e-9;
+
+    private RouteSolver() {
+    }
+
+    /**
+     * Visiting order, starting with node 0, and its total weight. optimal is
+     * true when the order was proven best.
+     */
+    record Solution(int[] order, double weight, boolean optimal) {
+    }
+
+    /**
+     * Solve exactly when there are at most exactMaxStops nodes besides the
+     * start, heuristically otherwise, stopping the improvement at deadline
+     * (a System.nanoTime() value)
+     */
+    static Solution solve(double[] weights, int n, boolean closed, int exactMaxStops, long deadline) {
+        if (n <= 3) {
+            // Every order of two stops has the same closed weight; compare both for open routes
+            int[] order = n == 3 && weights[2] < weights[1] ? new int[] {0, 2, 1} : identity(n);
+            return new Solution(order, weight(order, weights, n, closed), true);
+        }
+        return n - 1 <= exactMaxStops
+                ? exact(weights, n, closed)
+                : heuristic(weights, n, closed, deadline);
+    }
+
+    /**
+     * Held-Karp: best[mask * k + j] is the lightest path from the start
+     * through the stops in mask, ending at stop j, for k = n - 1 stops.
+     * O(2^k * k^2) time and O(2^k * k) memory.
+     */
+    static Solution exact(double[] weights, int n, boolean closed) {
+        int k = n - 1;
+        int full = (1 << k) - 1;
+        double[] best = new double[(full + 1) * k];
+        int[] previous = new int[(full + 1) * k];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        for (int j = 0; j < k; j++) {
+            best[(1 << j) * k + j] = weights[j + 1];
+            previous[(1 << j) * k + j] = -1;
+        }
+
+        // Extending a path only adds stops, so every mask is final before it is read
+        for (int mask = 1; mask < full; mask++) {
+            for (int j = 0; j < k; j++) {
+                double base = best[mask * k + j];
+                if ((mask & (1 << j)) == 0 || base == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int row = (j + 1) * n + 1;
+                for (int rest = full & ~mask; rest != 0; rest &= rest - 1) {
+                    int next = Integer.numberOfTrailingZeros(rest);
+                    int cell = (mask | (1 << next)) * k + next;
+                    double extended = base + weights[row + next];
+                    if (extended < best[cell]) {
+                        best[cell] = extended;
+                        previous[cell] = j;
+                    }
+                }
+            }
+        }
+
+        int last = -1;
+        double total = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < k; j++) {
+            double candidate = best[full * k + j] + (closed ? weights[(j + 1) * n] : 0);
+            if (candidate < total) {
+                total = candidate;
+                last = j;
+            }
+        }
+
+        int[] order = new int[n];
+        for (int position = n - 1, mask = full, j = last; position > 0; position--) {
+            order[position] = j + 1;
+            int before = previous[mask * k + j];
+            mask &= ~(1 << j);
+            j = before;
+        }
+        return new Solution(order, total, true);
+    }
+
+    static Solution heuristic(double[] weights, int n, boolean closed, long deadline) {
+        int[] bestOrder = nearestNeighbour(weights, n);
+        improve(bestOrder, weights, n, closed, deadline);
+        double bestWeight = weight(bestOrder, weights, n, closed);
+
+        // Iterated local search; seeded so that a route is planned the same way every time
+        Random random = new Random(n);
+        for (int kick = 0; kick < KICKS_PER_NODE * n && System.nanoTime() < deadline; kick++) {
+            int[] order = doubleBridge(bestOrder, random);
+            improve(order, weights, n, closed, deadline);
+            double weight = weight(order, weights, n, closed);
+            if (weight < bestWeight - EPSILON) {
+                bestOrder = order;
+                bestWeight = weight;
+            }
+        }
+        return new Solution(bestOrder, bestWeight, false);
+    }
+
+    private static int[] nearestNeighbour(double[] weights, int n) {
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int position = 1; position < n; position++) {
+            int from = order[position - 1];
+            int nearest = -1;
+            for (int to = 1; to < n; to++) {
+                if (!visited[to] && (nearest < 0 || weights[from * n + to] < weights[from * n + nearest])) {
+                    nearest = to;
+                }
+            }
+            order[position] = nearest;
+            visited[nearest] = true;
+        }
+        return order;
+    }
+
+    /**
+     * Apply improving 2-opt and Or-opt moves until neither finds one or the
+     * deadline passes
+     */
+    private static void improve(int[] order, double[] weights, int n, boolean closed, long deadline) {
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = twoOpt(order, weights, n, closed) | orOpt(order, weights, n, closed);
+        }
+    }
+
+    /**
+     * One pass of 2-opt: reverse order[i..j] wherever that shortens the route
+     */
+    private static boolean twoOpt(int[] order, double[] weights, int n, boolean closed) {
+        boolean improved = false;
+        for (int i = 1; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int before = order[i - 1];
+                int first = order[i];
+                int last = order[j];
+                int after = successor(order, j, n, closed);
+                double delta = edge(weights, n, before, last) + edge(weights, n, first, after)
+                        - edge(weights, n, before, first) - edge(weights, n, last, after);
+                if (delta < -EPSILON) {
+                    reverse(order, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * One pass of Or-opt: move a segment of up to three nodes, either way
+     * round, to wherever that shortens the route
+     */
+    private static boolean orOpt(int[] order, double[] weights, int n, boolean closed) {
+        boolean improved = false;
+        for (int length = 1; length <= OR_OPT_MAX_SEGMENT; length++) {
+            for (int i = 1; i + length <= n; i++) {
+                int end = i + length - 1;
+                int before = order[i - 1];
+                int first = order[i];
+                int last = order[end];
+                int after = successor(order, end, n, closed);
+                double removed = edge(weights, n, before, first) + edge(weights, n, last, after)
+                        - edge(weights, n, before, after);
+
+                for (int q = 0; q < n; q++) {
+                    if (q >= i - 1 && q <= end) {
+                        continue;
+                    }
+                    int u = order[q];
+                    int v = successor(order, q, n, closed);
+                    double opened = edge(weights, n, u, v);
+                    double forward = edge(weights, n, u, first) + edge(weights, n, last, v) - opened;
+                    double backward = edge(weights, n, u, last) + edge(weights, n, first, v) - opened;
+                    if (Math.min(forward, backward) - removed < -EPSILON) {
+                        moveSegment(order, i, end, q, backward < forward);
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Move order[from..to] to just after the node at position q, which lies
+     * outside the segment, reversing it if asked
+     */
+    private static void moveSegment(int[] order, int from, int to, int q, boolean reversed) {
+        int[] segment = Arrays.copyOfRange(order, from, to + 1);
+        if (reversed) {
+            reverse(segment, 0, segment.length - 1);
+        }
+        int length = segment.length;
+        if (q < from) {
+            System.arraycopy(order, q + 1, order, q + 1 + length, from - q - 1);
+            System.arraycopy(segment, 0, order, q + 1, length);
+        } else {
+            System.arraycopy(order, to + 1, order, from, q - to);
+            System.arraycopy(segment, 0, order, q - length + 1, length);
+        }
+    }
+
+    /**
+     * Cut the route after the start into four parts A B C D at three random
+     * points and reconnect them as A C B D, a change 2-opt cannot undo in one
+     * move
+     */
+    private static int[] doubleBridge(int[] order, Random random) {
+        int n = order.length;
+        int[] cuts = random.ints(1, n).distinct().limit(3).sorted().toArray();
+        int[] kicked = new int[n];
+        int position = 0;
+        position = copy(order, 0, cuts[0], kicked, position);
+        position = copy(order, cuts[1], cuts[2], kicked, position);
+        position = copy(order, cuts[0], cuts[1], kicked, position);
+        copy(order, cuts[2], n, kicked, position);
+        return kicked;
+    }
+
+    private static int copy(int[] source, int from, int to, int[] target, int position) {
+        System.arraycopy(source, from, target, position, to - from);
+        return position + to - from;
+    }
+
+    static double weight(int[] order, double[] weights, int n, boolean closed) {
+        double total = 0;
+        for (int position = 1; position < n; position++) {
+            total += weights[order[position - 1] * n + order[position]];
+        }
+        return closed && n > 1 ? total + weights[order[n - 1] * n + order[0]] : total;
+    }
+
+    /**
+     * Node after position, or -1 past the end of an open route
+     */
+    private static int successor(int[] order, int position, int n, boolean closed) {
+        return position + 1 < n ? order[position + 1] : closed ? order[0] : -1;
+    }
+
+    private static double edge(double[] weights, int n, int from, int to) {
+        return to < 0 ? 0 : weights[from * n + to];
+    }
+
+    private static void reverse(int[] order, int i, int j) {
+        for (; i < j; i++, j--) {
+            int node = order[i];
+            order[i] = order[j];
+            order[j] = node;
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        Arrays.setAll(order, i -> i);
+        return order;
+    }
+}
@@ -0,0 +1,27 @@
+package com.planora.service;
+
+/**
+ * Who a trip is for
+ */
+public enum TravelType {
+    SOLO,
+    COUPLE,
+    FAMILY;
+
+    private static final TravelType[] VALUES = values();
+
+    /**
+     * Look up a travel type by name, returning null for unknown names
+     */
+    public static TravelType fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (TravelType travelType : VALUES) {
+            if (travelType.name().equals(name)) {
+                return travelType;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.planora.service;
+
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Trip;
+import com.planora.entity.TripActivity;
+import com.planora.entity.TripHotel;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that evicts a trip from the {@link TripResponseCache} after
+ * any write to the trip, its hotels, its activities or its budget allocation
+ * commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class TripCacheInvalidationListener {
+
+    private final ObjectProvider<TripResponseCache> tripResponseCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long tripId = tripIdOf(entity);
+        if (tripId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tripResponseCache.getObject().invalidate(tripId);
+                }
+            });
+        } else {
+            tripResponseCache.getObject().invalidate(tripId);
+        }
+    }
+
+    private static Long tripIdOf(Object entity) {
+        if (entity instanceof Trip trip) {
+            return trip.getId();
+        }
+        if (entity instanceof TripHotel hotel) {
+            return hotel.getTripId();
+        }
+        if (entity instanceof TripActivity activity) {
+            return activity.getTripId();
+        }
+        if (entity instanceof BudgetAllocation allocation) {
+            return allocation.getTripId();
+        }
+        return null;
+    }
+}
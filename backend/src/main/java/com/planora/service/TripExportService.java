@@ -0,0 +1,68 @@
+package com.planora.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.planora.dto.TripResponseDTO;
+import com.planora.entity.Trip;
+import com.planora.repository.TripRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Streams a user's trips as newline-delimited JSON. Trips are read in
+ * keyset-paged chunks, each converted with one query per child table run one
+ * after another, so memory stays flat however many trips the account holds,
+ * the first chunk reaches the client before the rest is read, and a slow
+ * client never holds a connection between chunks.
+ */
+@Service
+@RequiredArgsConstructor
+public class TripExportService {
+
+    // Trips per page, child-table batch and flush to the client
+    static final int CHUNK_SIZE = 200;
+
+    private final TripRepository tripRepository;
+    private final TripPlanningService tripPlanningService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every trip of the user to out, newest first, one JSON object per line
+     */
+    @Timed(value = "planora.trips.export", percentiles = {0.5, 0.95, 0.99})
+    public void exportTrips(Long userId, OutputStream out) throws IOException {
+        // Flush once per chunk rather than after every trip, and leave closing the response to the container
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Trip last = null;
+            List<Trip> chunk;
+            do {
+                chunk = tripRepository.findPageByUserId(userId, null, null, null, null, null,
+                        last != null ? last.getCreatedAt() : null,
+                        last != null ? last.getId() : null,
+                        Limit.of(CHUNK_SIZE));
+                if (!chunk.isEmpty()) {
+                    writeChunk(chunk, writer, generator);
+                    last = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+        }
+    }
+
+    private void writeChunk(List<Trip> chunk, ObjectWriter writer, JsonGenerator generator) throws IOException {
+        for (TripResponseDTO trip : tripPlanningService.convertToResponseDTOs(chunk, false)) {
+            writer.writeValue(generator, trip);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
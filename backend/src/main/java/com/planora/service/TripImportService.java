@@ -0,0 +1,426 @@
+package com.planora.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.planora.dto.TripImportErrorDTO;
+import com.planora.dto.TripImportResultDTO;
+import com.planora.dto.TripRequestDTO;
+import com.planora.entity.BudgetAllocation;
+import com.planora.entity.Trip;
+import com.planora.exception.InvalidRequestException;
+import com.planora.exception.ResourceNotFoundException;
+import com.planora.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of trips from NDJSON or CSV. The body is read line by line,
+ * each row is validated with the TripRequestDTO constraints and planned like
+ * a single trip, and valid rows are written with JDBC batches, one
+ * transaction per chunk. Bad rows are reported back without stopping the
+ * import. Imported trips get a budget allocation but no recommendations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TripImportService {
+
+    static final int CHUNK_SIZE = 1_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private static final String INSERT_TRIP = "INSERT INTO trips (user_id, start_city, destination_id, start_date,"
+            + " end_date, number_of_days, number_of_travelers, travel_type, total_budget, plan_type, status,"
+            + " created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ALLOCATION = "INSERT INTO budget_allocation (id, trip_id, travel_budget,"
+            + " accommodation_budget, food_budget, activities_budget, total_allocated, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final TripPlanningService tripPlanningService;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private String nextAllocationIdSql;
+    private Set<String> csvColumns;
+
+    @PostConstruct
+    void init() {
+        csvColumns = objectMapper.getDeserializationConfig()
+                .introspect(objectMapper.constructType(TripRequestDTO.class))
+                .findProperties()
+                .stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toUnmodifiableSet());
+        nextAllocationIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(BudgetAllocation.ID_SEQUENCE);
+    }
+
+    /**
+     * Import newline-delimited JSON, one TripRequestDTO object per line
+     */
+    @Timed(value = "planora.trips.import", percentiles = {0.5, 0.95, 0.99})
+    public TripImportResultDTO importNdjson(Long userId, InputStream body) throws IOException {
+        requireUser(userId);
+        ObjectReader reader = objectMapper.readerFor(TripRequestDTO.class);
+        Batch batch = new Batch(userId);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(lineNumber, reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    batch.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage(), null);
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Import CSV with a header row naming TripRequestDTO fields, e.g.
+     * startCity,startDate,endDate,numberOfTravelers,travelType,totalBudget,planType
+     */
+    @Timed(value = "planora.trips.import", percentiles = {0.5, 0.95, 0.99})
+    public TripImportResultDTO importCsv(Long userId, InputStream body) throws IOException {
+        requireUser(userId);
+        Batch batch = new Batch(userId);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            List<String> header = null;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                List<String> values = parseCsvLine(line);
+                if (values == null || values.size() != header.size()) {
+                    batch.reject(lineNumber, "Expected " + header.size() + " columns", null);
+                    continue;
+                }
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    if (!values.get(i).isBlank()) {
+                        row.put(header.get(i), values.get(i).trim());
+                    }
+                }
+                try {
+                    batch.add(lineNumber, objectMapper.convertValue(row, TripRequestDTO.class));
+                } catch (IllegalArgumentException e) {
+                    batch.reject(lineNumber, "Invalid value: " + rootMessage(e), null);
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+
+    private List<String> parseHeader(String line) {
+        List<String> header = parseCsvLine(line);
+        if (header == null) {
+            throw new InvalidRequestException("Malformed CSV header");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            // Tolerate a UTF-8 byte order mark in front of the first column
+            if (i == 0 && column.startsWith("\uFEFF")) {
+                column = column.substring(1);
+            }
+            if (!csvColumns.contains(column)) {
+                throw new InvalidRequestException("Unknown CSV column: " + column);
+            }
+            header.set(i, column);
+        }
+        return header;
+    }
+
+    /**
+     * Split one CSV record, honouring double-quoted fields with "" escapes.
+     * Returns null for an unterminated quote; records cannot span lines.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof JsonProcessingException json ? json.getOriginalMessage() : cause.getMessage();
+    }
+
+    /**
+     * Reserve count budget allocation ids in the same blocks Hibernate's
+     * pooled optimizer uses: a sequence value v covers ids v - size + 1 .. v
+     */
+    private long[] reserveAllocationIds(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            long high = jdbcTemplate.queryForObject(nextAllocationIdSql, Long.class);
+            long low = high - BudgetAllocation.ID_ALLOCATION_SIZE + 1;
+            // A fresh sequence's first value is claimed together with the next block by Hibernate
+            if (low < 1) {
+                continue;
+            }
+            for (long id = low; id <= high && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Insert a chunk of planned trips and their budget allocations in one transaction
+     */
+    private void insertChunk(List<Trip> trips) {
+        int size = trips.size();
+        double[] amounts = new double[size * BudgetCategory.COUNT];
+        for (int i = 0; i < size; i++) {
+            Trip trip = trips.get(i);
+            BudgetAllocationService.allocate(PlanType.fromName(trip.getPlanType()), trip.getTotalBudget(),
+                    amounts, i * BudgetCategory.COUNT);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_TRIP, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            Trip trip = trips.get(i);
+                            statement.setLong(1, trip.getUserId());
+                            statement.setString(2, trip.getStartCity());
+                            if (trip.getDestinationId() != null) {
+                                statement.setLong(3, trip.getDestinationId());
+                            } else {
+                                statement.setNull(3, Types.BIGINT);
+                            }
+                            statement.setDate(4, Date.valueOf(trip.getStartDate()));
+                            statement.setDate(5, Date.valueOf(trip.getEndDate()));
+                            statement.setInt(6, trip.getNumberOfDays());
+                            statement.setInt(7, trip.getNumberOfTravelers());
+                            statement.setString(8, trip.getTravelType());
+                            statement.setDouble(9, trip.getTotalBudget());
+                            statement.setString(10, trip.getPlanType());
+                            statement.setString(11, trip.getStatus());
+                            statement.setTimestamp(12, now);
+                            statement.setTimestamp(13, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    },
+                    keys);
+
+            // Key maps are case-insensitive, and some drivers return every column rather than just the id
+            List<Map<String, Object>> tripKeys = keys.getKeyList();
+            long[] allocationIds = reserveAllocationIds(size);
+            jdbcTemplate.batchUpdate(INSERT_ALLOCATION, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    int offset = i * BudgetCategory.COUNT;
+                    statement.setLong(1, allocationIds[i]);
+                    statement.setLong(2, ((Number) tripKeys.get(i).get("id")).longValue());
+                    statement.setDouble(3, amounts[offset + BudgetCategory.TRAVEL.ordinal()]);
+                    statement.setDouble(4, amounts[offset + BudgetCategory.ACCOMMODATION.ordinal()]);
+                    statement.setDouble(5, amounts[offset + BudgetCategory.FOOD.ordinal()]);
+                    statement.setDouble(6, amounts[offset + BudgetCategory.ACTIVITIES.ordinal()]);
+                    statement.setDouble(7, trips.get(i).getTotalBudget());
+                    statement.setTimestamp(8, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        });
+    }
+
+    /**
+     * Accumulates validated rows into chunks and tallies the outcome of one import
+     */
+    private final class Batch {
+
+        private final Long userId;
+        private final List<Trip> trips = new ArrayList<>(CHUNK_SIZE);
+        private final List<Long> lineNumbers = new ArrayList<>(CHUNK_SIZE);
+        private final List<TripImportErrorDTO> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+
+        Batch(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(long lineNumber, TripRequestDTO request) {
+            totalRows++;
+            // A JSON null line reads as a null request
+            if (request == null) {
+                recordError(lineNumber, "Expected a trip object", null);
+                return;
+            }
+
+            // Any failure on one row is that row's error, never the whole import's
+            Trip trip;
+            try {
+                Set<ConstraintViolation<TripRequestDTO>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    Map<String, String> fieldErrors = new LinkedHashMap<>();
+                    for (ConstraintViolation<TripRequestDTO> violation : violations) {
+                        fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                    }
+                    recordError(lineNumber, "Validation failed", fieldErrors);
+                    return;
+                }
+
+                trip = tripPlanningService.buildTrip(request, userId);
+            } catch (RuntimeException e) {
+                recordError(lineNumber, e.getMessage() != null ? e.getMessage() : "Invalid row", null);
+                return;
+            }
+            if (trip.getNumberOfDays() < 1) {
+                recordError(lineNumber, "End date must not be before start date", null);
+                return;
+            }
+            if (trip.getNumberOfTravelers() == null) {
+                trip.setNumberOfTravelers(1);
+            }
+
+            trips.add(trip);
+            lineNumbers.add(lineNumber);
+            if (trips.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long lineNumber, String message, Map<String, String> fieldErrors) {
+            totalRows++;
+            recordError(lineNumber, message, fieldErrors);
+        }
+
+        TripImportResultDTO finish() {
+            flush();
+            return new TripImportResultDTO(totalRows, importedRows, failedRows, errors,
+                    failedRows > errors.size());
+        }
+
+        private void flush() {
+            if (trips.isEmpty()) {
+                return;
+            }
+            try {
+                insertChunk(trips);
+                importedRows += trips.size();
+            } catch (DataAccessException e) {
+                // The chunk's transaction rolled back, so none of its rows were stored
+                log.warn("Trip import chunk of {} rows failed for user {}", trips.size(), userId, e);
+                for (Long lineNumber : lineNumbers) {
+                    recordError(lineNumber, "Could not store row", null);
+                }
+            }
+            trips.clear();
+            lineNumbers.clear();
+        }
+
+        private void recordError(long lineNumber, String message, Map<String, String> fieldErrors) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TripImportErrorDTO(lineNumber, message, fieldErrors));
+            }
+        }
+    }
+}
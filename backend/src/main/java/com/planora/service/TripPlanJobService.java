@@ -0,0 +1,146 @@
+package com.planora.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.planora.dto.PlanJobDTO;
+import com.planora.dto.TripRequestDTO;
+import com.planora.dto.TripResponseDTO;
+import com.planora.entity.Trip;
+import com.planora.exception.InvalidRequestException;
+import com.planora.exception.ResourceNotFoundException;
+import com.planora.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs trip plan generation in the background. The draft trip is stored on
+ * the request thread; budget allocation and recommendations run on the
+ * planning executor and their outcome is kept in memory for polling.
+ * <p>
+ * A job that fails marks its trip FAILED. A FAILED trip, or a draft whose
+ * job was lost with a restart, can be planned again with {@link #retry}.
+ */
+@Slf4j
+@Service
+public class TripPlanJobService {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final TripPlanningService tripPlanningService;
+    private final TaskExecutor planningExecutor;
+
+    // Finished jobs are kept for an hour so clients can pick up the result
+    private final Cache<String, JobEntry> jobs = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    // Trips with a job queued or running on this node
+    private final Set<Long> activeTrips = ConcurrentHashMap.newKeySet();
+
+    public TripPlanJobService(TripPlanningService tripPlanningService,
+            @Qualifier("planningExecutor") TaskExecutor planningExecutor) {
+        this.tripPlanningService = tripPlanningService;
+        this.planningExecutor = planningExecutor;
+    }
+
+    /**
+     * Store the draft trip and queue the rest of the plan
+     */
+    public PlanJobDTO submit(TripRequestDTO requestDTO, Long userId) {
+        Trip trip = tripPlanningService.createDraftTrip(requestDTO, userId);
+        activeTrips.add(trip.getId());
+        try {
+            return enqueue(userId, trip.getId());
+        } catch (ServiceUnavailableException ex) {
+            // Nothing was planned, so do not leave an empty draft behind
+            tripPlanningService.discardDraftTrip(trip.getId());
+            throw ex;
+        }
+    }
+
+    /**
+     * Queue plan generation again for a trip whose plan was never generated
+     */
+    public PlanJobDTO retry(Long tripId, Long userId) {
+        if (!activeTrips.add(tripId)) {
+            throw new InvalidRequestException("A plan job is already running for trip " + tripId);
+        }
+        try {
+            tripPlanningService.reopenDraftTrip(tripId, userId);
+        } catch (RuntimeException ex) {
+            activeTrips.remove(tripId);
+            throw ex;
+        }
+        return enqueue(userId, tripId);
+    }
+
+    /**
+     * Hand the job to the planning executor, which rejects it rather than
+     * queueing without bound when it is saturated
+     */
+    private PlanJobDTO enqueue(Long userId, Long tripId) {
+        String jobId = UUID.randomUUID().toString();
+        PlanJobDTO job = new PlanJobDTO(jobId, tripId, "PENDING", null, null);
+        jobs.put(jobId, new JobEntry(userId, job));
+
+        try {
+            planningExecutor.execute(() -> run(jobId, userId, tripId));
+        } catch (TaskRejectedException ex) {
+            jobs.invalidate(jobId);
+            activeTrips.remove(tripId);
+            throw new ServiceUnavailableException("Trip planning is at capacity, try again shortly",
+                    RETRY_AFTER_SECONDS);
+        }
+        return job;
+    }
+
+    /**
+     * Get the current state of a job owned by the user
+     */
+    public PlanJobDTO getJob(String jobId, Long userId) {
+        JobEntry entry = jobs.getIfPresent(jobId);
+        if (entry == null || !entry.userId().equals(userId)) {
+            throw new ResourceNotFoundException("Plan job", "id", jobId);
+        }
+        return entry.job();
+    }
+
+    private void run(String jobId, Long userId, Long tripId) {
+        update(jobId, userId, new PlanJobDTO(jobId, tripId, "RUNNING", null, null));
+        try {
+            TripResponseDTO result = tripPlanningService.generateTripPlan(tripId);
+            update(jobId, userId, new PlanJobDTO(jobId, tripId, "COMPLETED", null, result));
+        } catch (Exception ex) {
+            log.error("Plan generation failed for trip {}", tripId, ex);
+            markFailed(tripId);
+            update(jobId, userId, new PlanJobDTO(jobId, tripId, "FAILED", ex.getMessage(), null));
+        } finally {
+            activeTrips.remove(tripId);
+        }
+    }
+
+    private void markFailed(Long tripId) {
+        try {
+            tripPlanningService.markPlanFailed(tripId);
+        } catch (Exception ex) {
+            // The trip stays a pending draft, which can still be retried
+            log.error("Could not mark trip {} as FAILED", tripId, ex);
+        }
+    }
+
+    private void update(String jobId, Long userId, PlanJobDTO job) {
+        jobs.put(jobId, new JobEntry(userId, job));
+    }
+
+    private record JobEntry(Long userId, PlanJobDTO job) {
+    }
+}
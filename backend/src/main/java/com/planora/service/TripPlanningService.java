@@ -3,37 +3,176 @@ package com.planora.service;
 import com.planora.dto.*;
 import com.planora.entity.*;
 import com.planora.exception.InvalidBudgetException;
+import com.planora.exception.InvalidRequestException;
 import com.planora.exception.ResourceNotFoundException;
 import com.planora.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TripPlanningService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Share of the per-day budget a destination's average cost may take
+    static final double DESTINATION_BUDGET_SHARE = 0.8;
+
+    // Ranked destinations offered alongside the chosen one
+    static final int ALTERNATIVE_DESTINATIONS = 3;
+
     private final TripRepository tripRepository;
     private final BudgetAllocationService budgetAllocationService;
-    private final DestinationRepository destinationRepository;
-    private final HotelRepository hotelRepository;
-    private final ActivityRepository activityRepository;
+    private final DestinationIndex destinationIndex;
+    private final TripHotelRepository tripHotelRepository;
+    private final TripActivityRepository tripActivityRepository;
+    private final RecommendationCatalog recommendationCatalog;
+    private final RecommendationService recommendationService;
     private final UserRepository userRepository;
+    private final QueryFanOut queryFanOut;
+    private final TripResponseCache tripResponseCache;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Create a new trip plan
+     * Create a new trip plan. The plan is worked out before the write
+     * transaction opens, so provider calls and the itinerary search hold no
+     * connection or row locks; only the inserts run inside it.
      */
-    @Transactional
+    @Timed(value = "planora.trips.create", percentiles = {0.5, 0.95, 0.99})
     public TripResponseDTO createTripPlan(TripRequestDTO requestDTO, Long userId) {
-        // Validate user exists
+        requireUser(userId);
+        Trip trip = buildTrip(requestDTO, userId);
+        PlannedTrip plan = planTrip(trip);
+
+        return transactionTemplate.execute(status -> saveTripPlan(tripRepository.save(trip), plan));
+    }
+
+    /**
+     * Run destination selection, budget allocation and recommendations for a
+     * request without writing anything. Only the in-memory destination index
+     * is read, so previews stay off the database entirely; the result has no
+     * trip id and status PREVIEW.
+     */
+    @Timed(value = "planora.trips.preview", percentiles = {0.5, 0.95, 0.99})
+    public TripResponseDTO previewTripPlan(TripRequestDTO requestDTO) {
+        Trip trip = buildTrip(requestDTO, null);
+        trip.setStatus("PREVIEW");
+        Destination destination = trip.getDestinationId() != null
+                ? destinationIndex.findById(trip.getDestinationId())
+                : null;
+
+        PlannedTrip plan = planTrip(trip);
+
+        return convertToResponseDTO(trip, destination, plan.budgetAllocation(),
+                plan.recommendations().hotels(), plan.recommendations().activities());
+    }
+
+    /**
+     * Store a trip in DRAFT without budget allocation or recommendations, so
+     * the rest of the plan can be generated later by {@link #generateTripPlan}
+     */
+    @Transactional
+    public Trip createDraftTrip(TripRequestDTO requestDTO, Long userId) {
+        return saveDraftTrip(requestDTO, userId);
+    }
+
+    /**
+     * Generate budget allocation and recommendations for a stored draft trip,
+     * outside the write transaction like {@link #createTripPlan}
+     */
+    public TripResponseDTO generateTripPlan(Long tripId) {
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        PlannedTrip plan = planTrip(trip);
+
+        return transactionTemplate.execute(status -> {
+            Trip draft = tripRepository.findById(tripId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+            // Child rows are about to change, so move updatedAt and with it the trip's ETag
+            draft.setUpdatedAt(LocalDateTime.now());
+            return saveTripPlan(draft, plan);
+        });
+    }
+
+    /**
+     * Mark a draft trip whose plan generation failed, so it shows as FAILED
+     * instead of pending and can be retried
+     */
+    @Transactional
+    public void markPlanFailed(Long tripId) {
+        tripRepository.findById(tripId).ifPresent(trip -> trip.setStatus("FAILED"));
+    }
+
+    /**
+     * Put a trip whose plan was never generated, because its job failed or
+     * was lost, back to DRAFT so {@link #generateTripPlan} can run again
+     */
+    @Transactional
+    public Trip reopenDraftTrip(Long tripId, Long userId) {
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        if (!trip.getUserId().equals(userId)) {
+            throw new RuntimeException("Unauthorized access to trip");
+        }
+        if (!isPlanPending(trip) || budgetAllocationService.findBudgetAllocationByTripId(tripId).isPresent()) {
+            throw new InvalidRequestException("Trip " + tripId + " already has a plan");
+        }
+
+        trip.setStatus("DRAFT");
+        return trip;
+    }
+
+    /**
+     * Delete a draft trip whose plan generation could not be queued
+     */
+    @Transactional
+    public void discardDraftTrip(Long tripId) {
+        tripRepository.deleteById(tripId);
+    }
+
+    /**
+     * Whether a trip may still be waiting for its budget allocation and
+     * recommendations: drafts from async planning and trips whose job failed
+     */
+    private static boolean isPlanPending(Trip trip) {
+        return "DRAFT".equals(trip.getStatus()) || "FAILED".equals(trip.getStatus());
+    }
+
+    /**
+     * Validate the request and persist the trip with its chosen destination
+     */
+    private Trip saveDraftTrip(TripRequestDTO requestDTO, Long userId) {
+        requireUser(userId);
+        return tripRepository.save(buildTrip(requestDTO, userId));
+    }
+
+    private void requireUser(Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    }
 
+    /**
+     * Validate the request and build an unsaved DRAFT trip with its chosen destination
+     */
+    Trip buildTrip(TripRequestDTO requestDTO, Long userId) {
         // Validate budget
         if (requestDTO.getTotalBudget() <= 0) {
             throw new InvalidBudgetException("Budget must be greater than 0");
@@ -59,154 +198,290 @@ public class TripPlanningService {
         trip.setStatus("DRAFT");
 
         // Find suitable destination based on budget
-        Destination destination = findSuitableDestination(requestDTO.getTotalBudget(), requestDTO.getNumberOfDays());
+        Destination destination = destinationIndex.findBest(maxDestinationCost(trip),
+                PlanType.fromName(trip.getPlanType()), TravelType.fromName(trip.getTravelType()));
         if (destination != null) {
             trip.setDestinationId(destination.getId());
         }
 
-        Trip savedTrip = tripRepository.save(trip);
-
-        // Calculate budget allocation
-        BudgetAllocation budgetAllocation = budgetAllocationService.calculateAndSaveBudgetAllocation(
-                savedTrip.getId(),
-                savedTrip.getTotalBudget(),
-                savedTrip.getPlanType());
+        return trip;
+    }
 
-        // Generate recommendations (mock data for now)
-        List<Hotel> hotels = generateHotelRecommendations(savedTrip, budgetAllocation);
-        List<Activity> activities = generateActivityRecommendations(savedTrip, budgetAllocation);
+    /**
+     * Allocate the budget and gather recommendations for a trip without
+     * touching the database; the trip needs no id yet
+     */
+    private PlannedTrip planTrip(Trip trip) {
+        BudgetAllocation budgetAllocation = budgetAllocationService.calculateBudgetAllocation(
+                null,
+                trip.getTotalBudget(),
+                trip.getPlanType());
+        RecommendationService.Recommendations recommendations =
+                recommendationService.recommend(trip, budgetAllocation);
+        return new PlannedTrip(budgetAllocation, recommendations);
+    }
 
-        // Convert to response DTO
+    /**
+     * Store a plan for a persisted trip, inside the caller's transaction
+     */
+    private TripResponseDTO saveTripPlan(Trip savedTrip, PlannedTrip plan) {
+        Long tripId = savedTrip.getId();
+        plan.budgetAllocation().setTripId(tripId);
+        BudgetAllocation budgetAllocation = budgetAllocationService.saveBudgetAllocation(plan.budgetAllocation());
+
+        plan.recommendations().hotels().forEach(hotel -> hotel.setTripId(tripId));
+        plan.recommendations().activities().forEach(activity -> activity.setTripId(tripId));
+        // Sequence-generated ids let Hibernate send each list as one JDBC batch
+        List<TripHotel> hotels = tripHotelRepository.saveAll(plan.recommendations().hotels());
+        List<TripActivity> activities = tripActivityRepository.saveAll(plan.recommendations().activities());
+
+        Destination destination = savedTrip.getDestinationId() != null
+                ? destinationIndex.findById(savedTrip.getDestinationId())
+                : null;
         return convertToResponseDTO(savedTrip, destination, budgetAllocation, hotels, activities);
     }
 
+    private record PlannedTrip(BudgetAllocation budgetAllocation,
+            RecommendationService.Recommendations recommendations) {
+    }
+
     /**
      * Get trip by ID
      */
+    @Timed(value = "planora.trips.get", percentiles = {0.5, 0.95, 0.99})
     public TripResponseDTO getTripById(Long tripId, Long userId) {
-        Trip trip = tripRepository.findById(tripId)
-                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        TripResponseCache.CachedTripResponse cached = tripResponseCache.get(tripId, this::loadTripResponse);
 
-        // Verify trip belongs to user
-        if (!trip.getUserId().equals(userId)) {
+        // Alternatives and recommendation details come from the catalogs, so a catalog change outdates the entry
+        if (!cached.catalogETag().equals(getCatalogVersion().eTag())) {
+            tripResponseCache.invalidate(tripId);
+            cached = tripResponseCache.get(tripId, this::loadTripResponse);
+        }
+
+        // Verify trip belongs to user, on cache hits as well as misses
+        if (!cached.userId().equals(userId)) {
             throw new RuntimeException("Unauthorized access to trip");
         }
 
+        return cached.response();
+    }
+
+    /**
+     * Validators for a trip owned by the user, or null if the trip does not
+     * exist or belongs to someone else. Reads only the trip's owner and
+     * updatedAt, so a matching If-None-Match costs one narrow query.
+     */
+    public ResourceVersion getTripVersion(Long tripId, Long userId) {
+        ResourceVersion catalogs = getCatalogVersion();
+        return tripRepository.findVersionById(tripId)
+                .filter(version -> version.getUserId().equals(userId) && version.getUpdatedAt() != null)
+                .map(version -> new ResourceVersion(
+                        ResourceVersion.strongETag("trip", tripId, version.getUpdatedAt(), catalogs.eTag()),
+                        Math.max(toEpochMillis(version.getUpdatedAt()), catalogs.lastModified())))
+                .orElse(null);
+    }
+
+    /**
+     * Validators for one page of a user's trips, derived from the number of
+     * trips and the latest write among them plus the page request itself
+     */
+    public ResourceVersion getUserTripsVersion(Long userId, TripFilterDTO filter, String cursor, Integer size) {
+        ResourceVersion catalogs = getCatalogVersion();
+        TripRepository.TripCollectionVersion version = tripRepository.findCollectionVersionByUserId(userId);
+        LocalDateTime lastUpdated = version.getLastUpdated();
+        return new ResourceVersion(
+                ResourceVersion.strongETag("trips", userId, version.getTripCount(), lastUpdated, filter, cursor, size,
+                        catalogs.eTag()),
+                lastUpdated != null ? Math.max(toEpochMillis(lastUpdated), catalogs.lastModified()) : -1);
+    }
+
+    /**
+     * Combined version of the destination and recommendation catalogs that
+     * trip responses are assembled from. Read before the data it covers, so a
+     * concurrent catalog change can only make it older than the response.
+     */
+    private ResourceVersion getCatalogVersion() {
+        ResourceVersion destinations = destinationIndex.getVersion();
+        ResourceVersion recommendations = recommendationCatalog.getVersion();
+        return new ResourceVersion(ResourceVersion.strongETag(destinations.eTag(), recommendations.eTag()),
+                Math.max(destinations.lastModified(), recommendations.lastModified()));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Load and assemble a trip response from the database
+     */
+    private TripResponseCache.CachedTripResponse loadTripResponse(Long tripId) {
+        String catalogETag = getCatalogVersion().eTag();
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+
         Destination destination = trip.getDestinationId() != null
-                ? destinationRepository.findById(trip.getDestinationId()).orElse(null)
+                ? destinationIndex.findById(trip.getDestinationId())
                 : null;
 
-        BudgetAllocation budgetAllocation = budgetAllocationService.getBudgetAllocationByTripId(tripId);
-        List<Hotel> hotels = hotelRepository.findByTripId(tripId);
-        List<Activity> activities = activityRepository.findByTripId(tripId);
-
-        return convertToResponseDTO(trip, destination, budgetAllocation, hotels, activities);
+        // Child tables are independent of each other, so read them concurrently
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            QueryFanOut.Subtask<BudgetAllocation> budgetAllocation = scope.fork(
+                    () -> budgetAllocationService.findBudgetAllocationByTripId(tripId).orElse(null));
+            QueryFanOut.Subtask<List<TripHotel>> hotels = scope.fork(() -> tripHotelRepository.findByTripId(tripId));
+            QueryFanOut.Subtask<List<TripActivity>> activities = scope.fork(
+                    () -> tripActivityRepository.findByTripId(tripId));
+            scope.join();
+
+            return new TripResponseCache.CachedTripResponse(trip.getUserId(), catalogETag,
+                    convertToResponseDTO(trip, destination, budgetAllocation.get(), hotels.get(), activities.get()));
+        }
     }
 
     /**
      * Get all trips for a user
      */
+    @Timed(value = "planora.trips.list", percentiles = {0.5, 0.95, 0.99})
     public List<TripResponseDTO> getUserTrips(Long userId) {
         List<Trip> trips = tripRepository.findByUserId(userId);
-
-        return trips.stream()
-                .map(trip -> {
-                    Destination destination = trip.getDestinationId() != null
-                            ? destinationRepository.findById(trip.getDestinationId()).orElse(null)
-                            : null;
-                    BudgetAllocation budgetAllocation = budgetAllocationService
-                            .getBudgetAllocationByTripId(trip.getId());
-                    List<Hotel> hotels = hotelRepository.findByTripId(trip.getId());
-                    List<Activity> activities = activityRepository.findByTripId(trip.getId());
-
-                    return convertToResponseDTO(trip, destination, budgetAllocation, hotels, activities);
-                })
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(trips);
     }
 
     /**
-     * Find suitable destination based on budget
+     * Get one keyset page of a user's trips, newest first, with optional filters
      */
-    private Destination findSuitableDestination(Double totalBudget, Integer numberOfDays) {
-        double budgetPerDay = totalBudget / numberOfDays;
-        List<Destination> destinations = destinationRepository.findByAverageCostLessThanEqual(budgetPerDay * 0.8);
+    @Timed(value = "planora.trips.list.page", percentiles = {0.5, 0.95, 0.99})
+    public TripPageDTO getUserTripsPage(Long userId, TripFilterDTO filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        TripCursor position = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists
+        List<Trip> trips = tripRepository.findPageByUserId(userId,
+                filter.getStatus(),
+                filter.getStartDateFrom(),
+                filter.getStartDateTo(),
+                filter.getMinBudget(),
+                filter.getMaxBudget(),
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(pageSize + 1));
+
+        boolean hasMore = trips.size() > pageSize;
+        if (hasMore) {
+            trips = trips.subList(0, pageSize);
+        }
 
-        return destinations.isEmpty() ? null : destinations.get(0);
+        String nextCursor = hasMore ? encodeCursor(trips.get(trips.size() - 1)) : null;
+        return new TripPageDTO(convertToResponseDTOs(trips), nextCursor, hasMore);
     }
 
-    /**
-     * Generate hotel recommendations (mock data for MVP)
-     */
-    private List<Hotel> generateHotelRecommendations(Trip trip, BudgetAllocation budgetAllocation) {
-        List<Hotel> hotels = new ArrayList<>();
-        double maxPricePerNight = budgetAllocation.getAccommodationBudget() / trip.getNumberOfDays();
+    private String encodeCursor(Trip trip) {
+        String raw = trip.getCreatedAt() + "|" + trip.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        // Mock hotel data
-        Hotel hotel1 = new Hotel();
-        hotel1.setTripId(trip.getId());
-        hotel1.setName("Comfort Inn");
-        hotel1.setLocation(trip.getStartCity());
-        hotel1.setPricePerNight(maxPricePerNight * 0.7);
-        hotel1.setRating(4.0);
-        hotel1.setAmenities("[\"WiFi\", \"Breakfast\", \"Pool\"]");
-        hotels.add(hotelRepository.save(hotel1));
+    private TripCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TripCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
 
-        Hotel hotel2 = new Hotel();
-        hotel2.setTripId(trip.getId());
-        hotel2.setName("Grand Plaza Hotel");
-        hotel2.setLocation(trip.getStartCity());
-        hotel2.setPricePerNight(maxPricePerNight * 0.9);
-        hotel2.setRating(4.5);
-        hotel2.setAmenities("[\"WiFi\", \"Breakfast\", \"Gym\", \"Spa\"]");
-        hotels.add(hotelRepository.save(hotel2));
+    private record TripCursor(LocalDateTime createdAt, Long id) {
+    }
 
-        return hotels;
+    /**
+     * Convert a batch of trips to response DTOs, loading each child table with a
+     * single IN query instead of one query per trip, the tables in parallel
+     */
+    List<TripResponseDTO> convertToResponseDTOs(List<Trip> trips) {
+        return convertToResponseDTOs(trips, true);
     }
 
     /**
-     * Generate activity recommendations (mock data for MVP)
+     * Convert a batch of trips as above, reading the child tables one after
+     * another unless parallelReads is set
      */
-    private List<Activity> generateActivityRecommendations(Trip trip, BudgetAllocation budgetAllocation) {
-        List<Activity> activities = new ArrayList<>();
-        double activityBudget = budgetAllocation.getActivitiesBudget();
+    List<TripResponseDTO> convertToResponseDTOs(List<Trip> trips, boolean parallelReads) {
+        if (trips.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> tripIds = trips.stream().map(Trip::getId).collect(Collectors.toList());
+        Map<Long, BudgetAllocation> allocations;
+        Map<Long, List<TripHotel>> hotelsByTrip;
+        Map<Long, List<TripActivity>> activitiesByTrip;
+        try (QueryFanOut.Scope scope = parallelReads ? queryFanOut.open() : queryFanOut.openSequential()) {
+            QueryFanOut.Subtask<Map<Long, BudgetAllocation>> allocationTask = scope.fork(
+                    () -> budgetAllocationService.getBudgetAllocationsByTripIds(tripIds));
+            QueryFanOut.Subtask<Map<Long, List<TripHotel>>> hotelTask = scope.fork(
+                    () -> tripHotelRepository.findByTripIdIn(tripIds).stream()
+                            .collect(Collectors.groupingBy(TripHotel::getTripId)));
+            QueryFanOut.Subtask<Map<Long, List<TripActivity>>> activityTask = scope.fork(
+                    () -> tripActivityRepository.findByTripIdIn(tripIds).stream()
+                            .collect(Collectors.groupingBy(TripActivity::getTripId)));
+            scope.join();
+
+            allocations = allocationTask.get();
+            hotelsByTrip = hotelTask.get();
+            activitiesByTrip = activityTask.get();
+        }
 
-        // Mock activity data
-        Activity activity1 = new Activity();
-        activity1.setTripId(trip.getId());
-        activity1.setName("City Tour");
-        activity1.setDescription("Explore the city's main attractions");
-        activity1.setCost(activityBudget * 0.3);
-        activity1.setDurationHours(4);
-        activity1.setCategory("SIGHTSEEING");
-        activities.add(activityRepository.save(activity1));
+        return trips.stream()
+                .map(trip -> {
+                    Destination destination = trip.getDestinationId() != null
+                            ? destinationIndex.findById(trip.getDestinationId())
+                            : null;
 
-        Activity activity2 = new Activity();
-        activity2.setTripId(trip.getId());
-        activity2.setName("Local Food Experience");
-        activity2.setDescription("Taste authentic local cuisine");
-        activity2.setCost(activityBudget * 0.25);
-        activity2.setDurationHours(3);
-        activity2.setCategory("FOOD");
-        activities.add(activityRepository.save(activity2));
+                    return convertToResponseDTO(trip, destination, allocations.get(trip.getId()),
+                            hotelsByTrip.getOrDefault(trip.getId(), Collections.emptyList()),
+                            activitiesByTrip.getOrDefault(trip.getId(), Collections.emptyList()));
+                })
+                .collect(Collectors.toList());
+    }
 
-        Activity activity3 = new Activity();
-        activity3.setTripId(trip.getId());
-        activity3.setName("Adventure Activity");
-        activity3.setDescription("Exciting outdoor adventure");
-        activity3.setCost(activityBudget * 0.35);
-        activity3.setDurationHours(5);
-        activity3.setCategory("ADVENTURE");
-        activities.add(activityRepository.save(activity3));
+    /**
+     * Highest average destination cost the trip's per-day budget allows
+     */
+    private static double maxDestinationCost(Trip trip) {
+        double budgetPerDay = trip.getTotalBudget() / trip.getNumberOfDays();
+        return budgetPerDay * DESTINATION_BUDGET_SHARE;
+    }
 
-        return activities;
+    /**
+     * The best-ranked destinations for the trip's budget, plan and travel
+     * type, other than the one it is going to
+     */
+    private List<DestinationOptionDTO> findAlternativeDestinations(Trip trip) {
+        List<RankedDestination> ranked = destinationIndex.rank(maxDestinationCost(trip),
+                PlanType.fromName(trip.getPlanType()), TravelType.fromName(trip.getTravelType()),
+                ALTERNATIVE_DESTINATIONS + 1);
+        List<DestinationOptionDTO> alternatives = new ArrayList<>(ALTERNATIVE_DESTINATIONS);
+        for (RankedDestination option : ranked) {
+            Destination destination = option.destination();
+            if (alternatives.size() < ALTERNATIVE_DESTINATIONS
+                    && !destination.getId().equals(trip.getDestinationId())) {
+                alternatives.add(new DestinationOptionDTO(destination.getId(), destination.getName(),
+                        destination.getCountry(), destination.getAverageCost(), destination.getPopularityScore(),
+                        option.score()));
+            }
+        }
+        return alternatives;
     }
 
     /**
-     * Convert entities to response DTO
+     * Convert entities to response DTO (package-private for the JMH benchmarks).
+     * A trip without a budget allocation, usually one whose plan is still
+     * pending, is returned without a budget breakdown rather than failing a
+     * whole page or export.
      */
-    private TripResponseDTO convertToResponseDTO(Trip trip, Destination destination,
+    TripResponseDTO convertToResponseDTO(Trip trip, Destination destination,
             BudgetAllocation budgetAllocation,
-            List<Hotel> hotels, List<Activity> activities) {
+            List<TripHotel> hotels, List<TripActivity> activities) {
         TripResponseDTO response = new TripResponseDTO();
         response.setTripId(trip.getId());
         response.setStartCity(trip.getStartCity());
@@ -220,20 +495,36 @@ public class TripPlanningService {
         response.setPlanType(trip.getPlanType());
         response.setStatus(trip.getStatus());
 
+        response.setAlternativeDestinations(findAlternativeDestinations(trip));
+
         // Budget breakdown
-        response.setBudgetBreakdown(budgetAllocationService.convertToDTO(budgetAllocation));
-
-        // Hotels
-        response.setHotels(hotels.stream()
-                .map(h -> new HotelDTO(h.getId(), h.getName(), h.getLocation(),
-                        h.getPricePerNight(), h.getRating(), h.getAmenities(), h.getImageUrl()))
-                .collect(Collectors.toList()));
-
-        // Activities
-        response.setActivities(activities.stream()
-                .map(a -> new ActivityDTO(a.getId(), a.getName(), a.getDescription(),
-                        a.getCost(), a.getDurationHours(), a.getCategory(), a.getImageUrl()))
-                .collect(Collectors.toList()));
+        if (budgetAllocation != null) {
+            response.setBudgetBreakdown(budgetAllocationService.convertToDTO(budgetAllocation, trip.getPlanType()));
+        }
+
+        // Hotels, with their catalog details and the location taken from the trip
+        List<HotelDTO> hotelDTOs = new ArrayList<>(hotels.size());
+        for (TripHotel tripHotel : hotels) {
+            Hotel h = recommendationCatalog.findHotel(tripHotel.getHotelId());
+            if (h != null) {
+                hotelDTOs.add(new HotelDTO(h.getId(), h.getName(), trip.getStartCity(),
+                        tripHotel.getPricePerNight(), h.getRating(), h.getAmenities(), h.getImageUrl()));
+            }
+        }
+        response.setHotels(hotelDTOs);
+
+        // Activities, day by day
+        List<ActivityDTO> activityDTOs = new ArrayList<>(activities.size());
+        for (TripActivity tripActivity : activities) {
+            Activity a = recommendationCatalog.findActivity(tripActivity.getActivityId());
+            if (a != null) {
+                activityDTOs.add(new ActivityDTO(a.getId(), a.getName(), a.getDescription(),
+                        tripActivity.getCost(), a.getDurationHours(), a.getCategory(), a.getImageUrl(),
+                        tripActivity.getDayNumber()));
+            }
+        }
+        activityDTOs.sort(Comparator.comparing(ActivityDTO::getDay, Comparator.nullsLast(Comparator.naturalOrder())));
+        response.setActivities(activityDTOs);
 
         return response;
     }
@@ -0,0 +1,103 @@
+package com.planora.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.planora.dto.TripResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of assembled trip responses keyed by trip ID.
+ * Entries remember the owning user so callers can keep enforcing ownership
+ * on cache hits, and the catalog version they were assembled against so
+ * callers can drop them once the destination or recommendation catalog
+ * changes. Entries are dropped by {@link TripCacheInvalidationListener}
+ * whenever the trip or one of its child rows is written.
+ */
+@Component
+public class TripResponseCache implements MeterBinder {
+
+    private final AsyncCache<Long, CachedTripResponse> cache;
+
+    public TripResponseCache(@Value("${planora.cache.trips.max-size:10000}") long maxSize,
+            @Value("${planora.cache.trips.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Cached response for the trip, computing it with the loader on the
+     * calling thread on a miss. Concurrent misses for the same trip wait for
+     * that one load; the in-flight load is a future in the cache, so a slow
+     * load does not block other trips. An invalidation that races with a
+     * load removes the future, so its result is handed to the callers
+     * waiting on it but not kept.
+     */
+    public CachedTripResponse get(Long tripId, Function<Long, CachedTripResponse> loader) {
+        // Counts the hit or miss
+        CompletableFuture<CachedTripResponse> cached = cache.getIfPresent(tripId);
+        if (cached == null) {
+            CompletableFuture<CachedTripResponse> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(tripId, loading);
+            if (cached == null) {
+                return load(tripId, loading, loader);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            // Waiters see the loader's own exception, e.g. a missing trip
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CachedTripResponse load(Long tripId, CompletableFuture<CachedTripResponse> loading,
+            Function<Long, CachedTripResponse> loader) {
+        CachedTripResponse response;
+        try {
+            response = loader.apply(tripId);
+        } catch (Throwable e) {
+            // Errors too, or waiters would block on the future for good
+            cache.asMap().remove(tripId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        loading.complete(response);
+        return response;
+    }
+
+    public void invalidate(Long tripId) {
+        cache.synchronous().invalidate(tripId);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "trips");
+    }
+
+    public record CachedTripResponse(Long userId, String catalogETag, TripResponseDTO response) {
+    }
+}
@@ -1,10 +1,11 @@
 -- Sample destinations data for testing
-INSERT INTO destinations (name, country, description, average_cost, popularity_score, image_url) VALUES
-('Goa', 'India', 'Beautiful beaches and Portuguese heritage', 50.00, 95, 'https://images.unsplash.com/photo-1512343879784-a960bf40e7f2'),
-('Jaipur', 'India', 'The Pink City with magnificent forts and palaces', 40.00, 90, 'https://images.unsplash.com/photo-1477587458883-47145ed94245'),
-('Kerala', 'India', 'God''s Own Country with backwaters and hill stations', 60.00, 92, 'https://images.unsplash.com/photo-1602216056096-3b40cc0c9944'),
-('Manali', 'India', 'Himalayan paradise for adventure and nature lovers', 55.00, 88, 'https://images.unsplash.com/photo-1626621341517-bbf3d9990a23'),
-('Udaipur', 'India', 'City of Lakes with royal palaces', 45.00, 87, 'https://images.unsplash.com/photo-1587474260584-136574528ed5'),
-('Rishikesh', 'India', 'Yoga capital and adventure sports hub', 35.00, 85, 'https://images.unsplash.com/photo-1626621341517-bbf3d9990a23'),
-('Varanasi', 'India', 'Spiritual capital on the banks of Ganges', 30.00, 89, 'https://images.unsplash.com/photo-1561361513-2d000a50f0dc'),
-('Darjeeling', 'India', 'Tea gardens and Himalayan views', 50.00, 86, 'https://images.unsplash.com/photo-1626621341517-bbf3d9990a23');
+INSERT INTO destinations (name, country, description, average_cost, popularity_score, latitude, longitude, image_url) VALUES
+('Goa', 'India', 'Beautiful beaches and Portuguese heritage', 50.00, 95, 15.2993, 74.1240, 'https://images.unsplash.com/photo-1512343879784-a960bf40e7f2'),
+('Jaipur', 'India', 'The Pink City with magnificent forts and palaces', 40.00, 90, 26.9124, 75.7873, 'https://images.unsplash.com/photo-1477587458883-47145ed94245'),
+('Kerala', 'India', 'God''s Own Country with backwaters and hill stations', 60.00, 92, 9.9312, 76.2673, 'https://images.unsplash.com/photo-1602216056096-3b40cc0c9944'),
+('Manali', 'India', 'Himalayan paradise for adventure and nature lovers', 55.00, 88, 32.2432, 77.1892, 'https://images.unsplash.com/photo-1626621341517-bbf3d9990a23'),
+('Udaipur', 'India', 'City of Lakes with royal palaces', 45.00, 87, 24.5854, 73.7125, 'https://images.unsplash.com/photo-1587474260584-136574528ed5'),
+('Rishikesh', 'India', 'Yoga capital and adventure sports hub', 35.00, 85, 30.0869, 78.2676, 'https://images.unsplash.com/photo-1626621341517-bbf3d9990a23'),
+('Varanasi', 'India', 'Spiritual capital on the banks of Ganges', 30.00, 89, 25.3176, 82.9739, 'https://images.unsplash.com/photo-1561361513-2d000a50f0dc'),
+('Darjeeling', 'India', 'Tea gardens and Himalayan views', 50.00, 86, 27.0410, 88.2663, 'https://images.unsplash.com/photo-1626621341517-bbf3d9990a23');
+
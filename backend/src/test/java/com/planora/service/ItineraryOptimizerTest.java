@@ -0,0 +1,176 @@
+package com.planora.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItineraryOptimizerTest {
+
+    private static final int DAILY_HOURS = 8;
+    private static final double CATEGORY_BONUS_HOURS = 2;
+    private static final double BUDGET_EPSILON = 1e-9;
+    private static final String[] CATEGORIES = {"SIGHTSEEING", "FOOD", "ADVENTURE", null};
+
+    // A time budget no instance here comes close to, so every search runs to the end
+    private final ItineraryOptimizer optimizer =
+            new ItineraryOptimizer(DAILY_HOURS, CATEGORY_BONUS_HOURS, Duration.ofSeconds(30), 500);
+
+    @Test
+    void exhaustedSearchMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int instance = 0; instance < 200; instance++) {
+            int count = 1 + random.nextInt(8);
+            int days = 1 + random.nextInt(3);
+            // Alternate budget-bound instances with ones where packing hours into days is what matters
+            boolean packing = instance % 2 == 1;
+            double[] costs = new double[count];
+            int[] hours = new int[count];
+            String[] categories = new String[count];
+            for (int i = 0; i < count; i++) {
+                costs[i] = random.nextInt(5) == 0 ? 0 : 50 + random.nextInt(450);
+                hours[i] = packing ? 2 + random.nextInt(DAILY_HOURS - 1) : 1 + random.nextInt(DAILY_HOURS + 1);
+                categories[i] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            }
+            double budget = packing ? 5000 : 100 + random.nextInt(1200);
+
+            int[] plan = optimizer.schedule(costs, hours, categories, budget, days);
+
+            String description = "instance " + instance;
+            assertEquals(count, plan.length, description);
+            assertTrue(feasible(plan, costs, hours, categories, budget, days), description);
+            assertEquals(bruteForce(costs, hours, categories, budget, days),
+                    value(plan, hours, categories), 1e-9, description);
+        }
+    }
+
+    @Test
+    void movesActivitiesOffTheirBestFitDayWhenThatPacksMoreHours() {
+        // Best fit puts the 1-hour activity next to the first 4-hour one, leaving no day with room for the second
+        double[] costs = {200, 300, 100, 300};
+        int[] hours = {4, 4, 1, 6};
+        String[] categories = {"SIGHTSEEING", "FOOD", "ADVENTURE", "SHOPPING"};
+
+        int[] plan = optimizer.schedule(costs, hours, categories, 10000, 2);
+
+        assertEquals(15 + 4 * CATEGORY_BONUS_HOURS, value(plan, hours, categories), 1e-9);
+    }
+
+    @Test
+    void leavesOutWhatCannotBeScheduled() {
+        double[] costs = {2000, 100, 100};
+        int[] hours = {2, DAILY_HOURS + 1, 3};
+        String[] categories = {"FOOD", "ADVENTURE", "SIGHTSEEING"};
+
+        assertArrayEquals(new int[] {0, 0, 1}, optimizer.schedule(costs, hours, categories, 1000, 1));
+    }
+
+    @Test
+    void spreadsOneCategoryAcrossDays() {
+        double[] costs = {100, 100, 100};
+        int[] hours = {2, 2, 2};
+        String[] categories = {"FOOD", "FOOD", "FOOD"};
+
+        int[] plan = optimizer.schedule(costs, hours, categories, 1000, 3);
+
+        assertEquals(Set.of(1, 2, 3), Set.of(plan[0], plan[1], plan[2]));
+    }
+
+    @Test
+    void sortByDescendingKeyOrdersLargestFirst() {
+        double[] key = {0.5, 3, Double.POSITIVE_INFINITY, -1, 2};
+        int[] indices = {0, 1, 2, 3, 4};
+
+        ItineraryOptimizer.sortByDescendingKey(indices, key);
+
+        assertArrayEquals(new int[] {2, 1, 4, 0, 3}, indices);
+    }
+
+    @Test
+    void sortByDescendingKeyKeepsTiesInInputOrder() {
+        Random random = new Random(7);
+        for (int length = 0; length <= 40; length++) {
+            double[] key = new double[length];
+            int[] indices = new int[length];
+            for (int i = 0; i < length; i++) {
+                // Few distinct keys, so most elements tie with others
+                key[i] = random.nextInt(4);
+                indices[i] = length - 1 - i;
+            }
+
+            ItineraryOptimizer.sortByDescendingKey(indices, key);
+
+            for (int p = 1; p < length; p++) {
+                int before = indices[p - 1];
+                int after = indices[p];
+                assertTrue(key[before] > key[after] || key[before] == key[after] && before > after,
+                        "length " + length + " at " + p);
+            }
+        }
+    }
+
+    /**
+     * Best value over every assignment of each candidate to a day or to no day
+     */
+    private static double bruteForce(double[] costs, int[] hours, String[] categories, double budget, int days) {
+        int[] plan = new int[costs.length];
+        double best = 0;
+        while (true) {
+            if (feasible(plan, costs, hours, categories, budget, days)) {
+                best = Math.max(best, value(plan, hours, categories));
+            }
+            int i = 0;
+            while (i < plan.length && plan[i] == days) {
+                plan[i++] = 0;
+            }
+            if (i == plan.length) {
+                return best;
+            }
+            plan[i]++;
+        }
+    }
+
+    private static boolean feasible(int[] plan, double[] costs, int[] hours, String[] categories, double budget,
+            int days) {
+        double spent = 0;
+        int[] hoursOnDay = new int[days + 1];
+        Set<String> categoriesOnDays = new HashSet<>();
+        for (int i = 0; i < plan.length; i++) {
+            if (plan[i] == 0) {
+                continue;
+            }
+            if (plan[i] < 0 || plan[i] > days) {
+                return false;
+            }
+            spent += costs[i];
+            hoursOnDay[plan[i]] += hours[i];
+            if (hoursOnDay[plan[i]] > DAILY_HOURS || !categoriesOnDays.add(plan[i] + ":" + categoryOf(categories, i))) {
+                return false;
+            }
+        }
+        return spent <= budget + BUDGET_EPSILON;
+    }
+
+    private static double value(int[] plan, int[] hours, String[] categories) {
+        double value = 0;
+        Set<String> covered = new HashSet<>();
+        for (int i = 0; i < plan.length; i++) {
+            if (plan[i] > 0) {
+                value += hours[i];
+                covered.add(categoryOf(categories, i));
+            }
+        }
+        return value + covered.size() * CATEGORY_BONUS_HOURS;
+    }
+
+    // A null category is a category of its own
+    private static String categoryOf(String[] categories, int i) {
+        return categories[i] != null ? categories[i] : "\0" + i;
+    }
+}
@@ -0,0 +1,153 @@
+package com.planora.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteSolverTest {
+
+    private static final double TOLERANCE = 1e-9;
+    // The local search is not exact, but should rarely miss the optimum and never by much
+    private static final double MAX_HEURISTIC_GAP = 0.05;
+    private static final double MAX_HEURISTIC_MISS_RATE = 0.01;
+
+    @Test
+    void shortRoutesMatchBruteForce() {
+        Random random = new Random(3);
+        for (int n = 1; n <= 3; n++) {
+            for (int instance = 0; instance < 50; instance++) {
+                double[] weights = randomWeights(random, n);
+                for (boolean closed : new boolean[] {false, true}) {
+                    RouteSolver.Solution solution = RouteSolver.solve(weights, n, closed, 0, deadline());
+
+                    String description = "n " + n + (closed ? " closed" : " open") + " instance " + instance;
+                    assertValid(solution, weights, n, closed, description);
+                    assertTrue(solution.optimal(), description);
+                    assertEquals(bruteForce(weights, n, closed), solution.weight(), TOLERANCE, description);
+                }
+            }
+        }
+    }
+
+    @Test
+    void exactMatchesBruteForce() {
+        Random random = new Random(5);
+        for (int instance = 0; instance < 100; instance++) {
+            int n = 4 + random.nextInt(6);
+            double[] weights = randomWeights(random, n);
+            for (boolean closed : new boolean[] {false, true}) {
+                RouteSolver.Solution solution = RouteSolver.solve(weights, n, closed, n, deadline());
+
+                String description = "n " + n + (closed ? " closed" : " open") + " instance " + instance;
+                assertValid(solution, weights, n, closed, description);
+                assertTrue(solution.optimal(), description);
+                assertEquals(bruteForce(weights, n, closed), solution.weight(), TOLERANCE, description);
+            }
+        }
+    }
+
+    // A broken move can keep the local search going until each deadline
+    @Test
+    @Timeout(60)
+    void heuristicStaysCloseToHeldKarp() {
+        Random random = new Random(11);
+        int routes = 0;
+        int missed = 0;
+        for (int instance = 0; instance < 300; instance++) {
+            int n = 4 + random.nextInt(12);
+            double[] weights = randomWeights(random, n);
+            for (boolean closed : new boolean[] {false, true}) {
+                RouteSolver.Solution solution = RouteSolver.solve(weights, n, closed, 0, deadline());
+
+                String description = "n " + n + (closed ? " closed" : " open") + " instance " + instance;
+                assertValid(solution, weights, n, closed, description);
+                assertFalse(solution.optimal(), description);
+                double optimum = RouteSolver.exact(weights, n, closed).weight();
+                assertTrue(solution.weight() >= optimum - TOLERANCE, description);
+                assertTrue(solution.weight() <= optimum * (1 + MAX_HEURISTIC_GAP), description);
+                routes++;
+                if (solution.weight() > optimum + TOLERANCE) {
+                    missed++;
+                }
+            }
+        }
+        assertTrue(missed <= routes * MAX_HEURISTIC_MISS_RATE, missed + " of " + routes + " routes not optimal");
+    }
+
+    /**
+     * The order starts at node 0, visits every node once and has the
+     * weight reported for it
+     */
+    private static void assertValid(RouteSolver.Solution solution, double[] weights, int n, boolean closed,
+            String description) {
+        int[] order = solution.order();
+        assertEquals(n, order.length, description);
+        assertEquals(0, order[0], description);
+        boolean[] seen = new boolean[n];
+        for (int node : order) {
+            assertTrue(node >= 0 && node < n && !seen[node], description);
+            seen[node] = true;
+        }
+        assertEquals(RouteSolver.weight(order, weights, n, closed), solution.weight(), TOLERANCE, description);
+    }
+
+    /**
+     * Lightest route over every order of the stops after node 0
+     */
+    private static double bruteForce(double[] weights, int n, boolean closed) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return bruteForce(order, 1, weights, n, closed);
+    }
+
+    private static double bruteForce(int[] order, int position, double[] weights, int n, boolean closed) {
+        if (position >= n - 1) {
+            return RouteSolver.weight(order, weights, n, closed);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = position; i < n; i++) {
+            swap(order, position, i);
+            best = Math.min(best, bruteForce(order, position + 1, weights, n, closed));
+            swap(order, position, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int node = order[i];
+        order[i] = order[j];
+        order[j] = node;
+    }
+
+    /**
+     * Distances between random points in a square, so the matrix is
+     * symmetric like the great-circle one
+     */
+    private static double[] randomWeights(Random random, int n) {
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * 1000;
+            y[i] = random.nextDouble() * 1000;
+        }
+        double[] weights = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                weights[i * n + j] = Math.hypot(x[i] - x[j], y[i] - y[j]);
+            }
+        }
+        return weights;
+    }
+
+    // Far enough off that the local search always runs to completion
+    private static long deadline() {
+        return System.nanoTime() + 5_000_000_000L;
+    }
+}
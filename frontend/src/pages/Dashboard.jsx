@@ -9,6 +9,9 @@ const Dashboard = () => {
     const { user, logout } = useAuth();
     const [trips, setTrips] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [hasMore, setHasMore] = useState(false);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     useEffect(() => {
         fetchTrips();
@@ -17,7 +20,10 @@ const Dashboard = () => {
     const fetchTrips = async () => {
         try {
             const response = await tripAPI.getMyTrips();
-            setTrips(response.data.data);
+            const page = response.data.data;
+            setTrips(page.trips);
+            setNextCursor(page.nextCursor);
+            setHasMore(page.hasMore);
         } catch (error) {
             console.error('Error fetching trips:', error);
         } finally {
@@ -25,6 +31,21 @@ const Dashboard = () => {
         }
     };
 
+    const loadMoreTrips = async () => {
+        setLoadingMore(true);
+        try {
+            const response = await tripAPI.getMyTrips(nextCursor);
+            const page = response.data.data;
+            setTrips((loaded) => [...loaded, ...page.trips]);
+            setNextCursor(page.nextCursor);
+            setHasMore(page.hasMore);
+        } catch (error) {
+            console.error('Error fetching more trips:', error);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleLogout = () => {
         logout();
         navigate('/login');
@@ -75,7 +96,7 @@ const Dashboard = () => {
                         <div className="flex items-center justify-between">
                             <div>
                                 <p className="text-dark-400 text-sm mb-1">Total Trips</p>
-                                <p className="text-3xl font-bold text-dark-100">{trips.length}</p>
+                                <p className="text-3xl font-bold text-dark-100">{trips.length}{hasMore && '+'}</p>
                             </div>
                             <div className="w-12 h-12 bg-primary-500/20 rounded-xl flex items-center justify-center">
                                 <MapPin className="w-6 h-6 text-primary-400" />
@@ -189,6 +210,18 @@ const Dashboard = () => {
                             ))}
                         </div>
                     )}
+
+                    {!loading && hasMore && (
+                        <div className="flex justify-center mt-8">
+                            <button
+                                onClick={loadMoreTrips}
+                                disabled={loadingMore}
+                                className="btn-outline disabled:opacity-50 disabled:cursor-not-allowed"
+                            >
+                                {loadingMore ? 'Loading...' : 'Load More Trips'}
+                            </button>
+                        </div>
+                    )}
                 </div>
             </div>
         </div>
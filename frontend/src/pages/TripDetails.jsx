@@ -119,7 +119,8 @@ const TripDetails = () => {
                     </div>
                 </div>
 
-                {/* Budget Breakdown */}
+                {/* Budget Breakdown, absent while the plan is still being generated */}
+                {trip.budgetBreakdown ? (
                 <div className="card mb-8">
                     <h2 className="text-2xl font-display font-bold text-dark-100 mb-6">Budget Breakdown</h2>
                     <div className="grid md:grid-cols-4 gap-4">
@@ -137,6 +138,15 @@ const TripDetails = () => {
                         ))}
                     </div>
                 </div>
+                ) : (
+                <div className="card mb-8">
+                    <p className="text-dark-400">
+                        {trip.status === 'FAILED'
+                            ? 'Planning this trip failed. Please try again.'
+                            : 'Your plan is still being generated. Check back in a moment.'}
+                    </p>
+                </div>
+                )}
 
                 {/* Hotels */}
                 <div className="card mb-8">
@@ -30,8 +30,10 @@ export const authAPI = {
 // Trip APIs
 export const tripAPI = {
     createTrip: (data) => api.post('/trips/plan', data),
+    previewTrip: (data) => api.post('/trips/plan/preview', data),
     getTrip: (id) => api.get(`/trips/${id}`),
-    getMyTrips: () => api.get('/trips/my-trips'),
+    getMyTrips: (cursor) => api.get('/trips/my-trips', { params: { cursor } }),
+    planRoute: (id, data) => api.post(`/trips/${id}/route`, data),
 };
 
 export default api;